@@ -0,0 +1,92 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.MobilebackendApplication;
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.entity.EventPriority;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Starts the backend without a web server against an in-memory H2 database in MySQL
+ * mode, and builds deterministic seed data so runs on different commits see the same rows.
+ */
+final class BenchmarkApplication {
+    
+    static final long SEED = 42L;
+    
+    private BenchmarkApplication() {
+    }
+    
+    static ConfigurableApplicationContext start() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.StudyTrack.mobilebackend", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("jwt.secret", JwtTokenProviderBenchmark.SECRET);
+        
+        properties.put("spring.main.banner-mode", "off");
+        
+        // Passed as arguments so they take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        
+        SpringApplication application = new SpringApplication(MobilebackendApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application.run(args);
+    }
+    
+    /**
+     * Events spread over roughly three years of history plus the coming month, a third of
+     * them assignments, with a handful starting today.
+     */
+    static List<CalendarEventDto> seedEvents(int count, Random random) {
+        List<CalendarEventDto> events = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime historyStart = now.minusYears(3);
+        long spanMinutes = java.time.Duration.between(historyStart, now.plusDays(30)).toMinutes();
+        
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = i % 50 == 0
+                    ? LocalDate.now().atTime(8 + random.nextInt(10), 0)
+                    : historyStart.plusMinutes((long) (random.nextDouble() * spanMinutes));
+            events.add(eventDto(i, start, random));
+        }
+        return events;
+    }
+    
+    static CalendarEventDto eventDto(int index, LocalDateTime start, Random random) {
+        CalendarEventDto dto = new CalendarEventDto();
+        dto.setTitle("Event " + index);
+        dto.setDescription("Seeded benchmark event number " + index + " with a short description");
+        dto.setStartTime(start);
+        dto.setEndTime(start.plusMinutes(30 + random.nextInt(150)));
+        dto.setPriority(EventPriority.values()[random.nextInt(EventPriority.values().length)]);
+        dto.setStatus(EventStatus.SCHEDULED);
+        if (index % 3 == 0) {
+            dto.setEventType("ASSIGNMENT");
+            dto.setSubject("Subject " + (index % 7));
+            dto.setCourseCode("CS" + (100 + index % 7));
+            dto.setAssignmentType("HOMEWORK");
+            dto.setTotalPoints(100);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,98 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.dto.UserDto;
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import com.StudyTrack.mobilebackend.service.CalendarEventService;
+import com.StudyTrack.mobilebackend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CalendarEventService flows against an embedded database holding {@code historySize}
+ * events for the benchmarked user plus the same amount for another user.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarEventServiceBenchmark {
+    
+    private static final String USERNAME = "student1";
+    
+    @Param({"500", "5000"})
+    private int historySize;
+    
+    private ConfigurableApplicationContext context;
+    
+    private CalendarEventService eventService;
+    
+    private CalendarEventDto newEvent;
+    
+    private CalendarEventDto updatedEvent;
+    
+    private Long updatedEventId;
+    
+    private int updateCounter;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        eventService = context.getBean(CalendarEventService.class);
+        UserService userService = context.getBean(UserService.class);
+        
+        Random random = new Random(BenchmarkApplication.SEED);
+        for (String username : List.of(USERNAME, "student2")) {
+            UserDto user = new UserDto();
+            user.setUsername(username);
+            user.setEmail(username + "@example.com");
+            user.setPassword("password123");
+            user.setFirstName("Bench");
+            user.setLastName("Mark");
+            userService.registerUser(user);
+            
+            List<CalendarEventDto> events = BenchmarkApplication.seedEvents(historySize, random);
+            for (int offset = 0; offset < events.size(); offset += 1000) {
+                eventService.createEvents(events.subList(offset, Math.min(offset + 1000, events.size())), username);
+            }
+        }
+        
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        newEvent = BenchmarkApplication.eventDto(0, start, random);
+        updatedEvent = BenchmarkApplication.eventDto(1, start, random);
+        updatedEventId = eventService.createEvent(updatedEvent, USERNAME).getId();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<CalendarEventDto> todayEvents() {
+        return eventService.getTodayEvents(USERNAME);
+    }
+    
+    @Benchmark
+    public List<CalendarEventDto> upcomingEvents() {
+        return eventService.getUpcomingEvents(USERNAME);
+    }
+    
+    @Benchmark
+    public CalendarEvent createEvent() {
+        return eventService.createEvent(newEvent, USERNAME);
+    }
+    
+    @Benchmark
+    public CalendarEvent updateEvent() {
+        updatedEvent.setTitle("Updated " + (updateCounter++));
+        return eventService.updateEvent(updatedEventId, updatedEvent, USERNAME);
+    }
+}
@@ -0,0 +1,95 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.dto.EventFilterDto;
+import com.StudyTrack.mobilebackend.dto.EventPageDto;
+import com.StudyTrack.mobilebackend.dto.UserDto;
+import com.StudyTrack.mobilebackend.service.CalendarEventService;
+import com.StudyTrack.mobilebackend.service.EventQueryService;
+import com.StudyTrack.mobilebackend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the keyset-paginated listing, either the first page or one about 90% of
+ * the way through a user with {@code historySize} events. With keyset pagination both
+ * should cost the same regardless of history size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventQueryBenchmark {
+    
+    private static final String USERNAME = "student1";
+    
+    private static final int PAGE_SIZE = 50;
+    
+    @Param({"5000", "50000"})
+    private int historySize;
+    
+    @Param({"first", "deep"})
+    private String page;
+    
+    private ConfigurableApplicationContext context;
+    
+    private EventQueryService queryService;
+    
+    private String cursor;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        CalendarEventService eventService = context.getBean(CalendarEventService.class);
+        UserService userService = context.getBean(UserService.class);
+        queryService = context.getBean(EventQueryService.class);
+        
+        Random random = new Random(BenchmarkApplication.SEED);
+        for (String username : List.of(USERNAME, "student2")) {
+            UserDto user = new UserDto();
+            user.setUsername(username);
+            user.setEmail(username + "@example.com");
+            user.setPassword("password123");
+            user.setFirstName("Bench");
+            user.setLastName("Mark");
+            userService.registerUser(user);
+            
+            List<CalendarEventDto> events = BenchmarkApplication.seedEvents(historySize, random);
+            for (int offset = 0; offset < events.size(); offset += 1000) {
+                eventService.createEvents(events.subList(offset, Math.min(offset + 1000, events.size())), username);
+            }
+        }
+        
+        if (page.equals("deep")) {
+            // Walk with the largest page size to the cursor of the page 90% in
+            EventFilterDto filter = new EventFilterDto();
+            filter.setLimit(200);
+            int skipped = 0;
+            while (skipped < historySize * 9 / 10) {
+                EventPageDto result = queryService.queryEvents(USERNAME, filter);
+                skipped += result.getEvents().size();
+                filter.setCursor(result.getNextCursor());
+            }
+            cursor = filter.getCursor();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public EventPageDto listPage() {
+        EventFilterDto filter = new EventFilterDto();
+        filter.setLimit(PAGE_SIZE);
+        filter.setCursor(cursor);
+        return queryService.queryEvents(USERNAME, filter);
+    }
+}
@@ -0,0 +1,48 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of event lists as returned by the event endpoints, using an
+ * ObjectMapper configured the way Spring Boot configures its default one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int eventCount;
+    
+    private ObjectMapper objectMapper;
+    
+    private List<CalendarEventDto> events;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        events = BenchmarkApplication.seedEvents(eventCount, new Random(BenchmarkApplication.SEED));
+        long id = 1;
+        for (CalendarEventDto event : events) {
+            event.setId(id++);
+            event.setUserId(1L);
+            event.setTagIds(List.of(1L, 2L));
+        }
+    }
+    
+    @Benchmark
+    public byte[] serializeEventList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+}
@@ -0,0 +1,107 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request JWT work of the filter: the old path (validate, then parse
+ * again, rebuilding key and parser each time) against the single cached parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+    
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs512-signing-0123456789";
+    
+    private JwtTokenProvider tokenProvider;
+    
+    private JwtTokenProvider uncachedTokenProvider;
+    
+    private Authentication authentication;
+    
+    private String token;
+    
+    @Setup
+    public void setup() {
+        tokenProvider = newTokenProvider(10_000);
+        uncachedTokenProvider = newTokenProvider(0);
+        
+        UserDetails userDetails = User.withUsername("student1")
+                .password("unused")
+                .authorities("STUDENT")
+                .build();
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+    
+    static JwtTokenProvider newTokenProvider(long verifiedCacheMaxSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86_400_000);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        provider.init();
+        return provider;
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+    
+    // Previous filter path: two full HS512 verifications with a fresh key and parser each
+    @Benchmark
+    public String legacyValidateThenParse() {
+        if (!legacyValidate(token)) {
+            return null;
+        }
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+    
+    @Benchmark
+    public String singleParseUncached() {
+        return uncachedTokenProvider.getValidatedClaims(token)
+                .map(Claims::getSubject)
+                .orElse(null);
+    }
+    
+    @Benchmark
+    public String singleParseCached() {
+        return tokenProvider.getValidatedClaims(token)
+                .map(Claims::getSubject)
+                .orElse(null);
+    }
+    
+    private static boolean legacyValidate(String token) {
+        try {
+            Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseClaimsJws(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for comparing serving modes of a running backend.
+ * Registers a user, seeds events through the batch endpoint, then keeps {@code concurrency}
+ * clients (each on its own virtual thread) issuing GET requests back to back, and reports
+ * throughput and latency percentiles over the measurement window.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.StudyTrack.mobilebackend.benchmark.LoadTest \
+ *     --url=http://localhost:8080/api/api --path=/events/upcoming --concurrency=400 --seconds=30
+ * </pre>
+ */
+public final class LoadTest {
+    
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    
+    private LoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080/api/api");
+        String path = options.getOrDefault("path", "/events/upcoming");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int events = Integer.parseInt(options.getOrDefault("events", "500"));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = setUp(client, baseUrl, events);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureEnd = warmupEnd + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> run(client, request, warmupEnd, measureEnd, errors)));
+            }
+        }
+        
+        long[] latencies = workers.stream()
+                .map(LoadTest::join)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        
+        System.out.printf("path=%s concurrency=%d seconds=%d%n", path, concurrency, seconds);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                latencies.length, errors.get(), latencies.length / (double) seconds);
+        if (latencies.length > 0) {
+            System.out.printf("p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.95),
+                    percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+    
+    private static long[] run(HttpClient client, HttpRequest request, long warmupEnd, long measureEnd, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long now;
+        while ((now = System.nanoTime()) < measureEnd) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long elapsed = System.nanoTime() - now;
+            if (now < warmupEnd) {
+                continue;
+            }
+            if (!ok) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsed;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+    
+    private static String setUp(HttpClient client, String baseUrl, int events) throws Exception {
+        String username = "load" + System.currentTimeMillis();
+        post(client, baseUrl + "/auth/register", null, Map.of(
+                "username", username, "email", username + "@example.com", "password", "loadtest",
+                "firstName", "Load", "lastName", "Test"));
+        JsonNode login = post(client, baseUrl + "/auth/login", null, Map.of("username", username, "password", "loadtest"));
+        String token = login.path("token").asText();
+        if (token.isEmpty()) {
+            throw new IllegalStateException("Login failed: " + login);
+        }
+        
+        List<CalendarEventDto> seed = BenchmarkApplication.seedEvents(events, new Random(BenchmarkApplication.SEED));
+        for (int from = 0; from < seed.size(); from += 500) {
+            post(client, baseUrl + "/events/batch", token, seed.subList(from, Math.min(from + 500, seed.size())));
+        }
+        return token;
+    }
+    
+    private static JsonNode post(HttpClient client, String url, String token, Object body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return MAPPER.readTree(response.body());
+    }
+    
+    private static long[] join(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
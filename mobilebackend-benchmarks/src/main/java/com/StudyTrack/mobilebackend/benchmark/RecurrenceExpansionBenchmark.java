@@ -0,0 +1,63 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.recurrence.RecurrenceRule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lazy expansion of a recurring series for the windows the read endpoints use (a day,
+ * the 30-day upcoming horizon, a year). The series started four years before the window,
+ * so a rule that walked from its first occurrence would pay for all of that history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceExpansionBenchmark {
+    
+    @Param({"FREQ=DAILY", "FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=MONTHLY", "FREQ=WEEKLY;BYDAY=TU,TH;COUNT=10000"})
+    private String rule;
+    
+    @Param({"1", "30", "365"})
+    private int windowDays;
+    
+    private RecurrenceRule recurrenceRule;
+    
+    private CalendarEventDto master;
+    
+    private LocalDateTime from;
+    
+    private LocalDateTime to;
+    
+    @Setup
+    public void setup() {
+        recurrenceRule = RecurrenceRule.parse(rule);
+        from = LocalDate.now().atStartOfDay();
+        to = from.plusDays(windowDays);
+        
+        LocalDateTime first = from.minusYears(4).withHour(9);
+        master = BenchmarkApplication.eventDto(0, first, new Random(BenchmarkApplication.SEED));
+        master.setId(1L);
+        master.setRecurrenceRule(rule);
+    }
+    
+    @Benchmark
+    public void expandStarts(Blackhole blackhole) {
+        recurrenceRule.expand(master.getStartTime(), from, to, blackhole::consume);
+    }
+    
+    // What the service does per series: parse the stored rule and build one DTO per occurrence
+    @Benchmark
+    public void expandToDtos(Blackhole blackhole) {
+        RecurrenceRule.parse(master.getRecurrenceRule())
+                .expand(master.getStartTime(), from, to, start -> blackhole.consume(master.occurrenceAt(start)));
+    }
+}
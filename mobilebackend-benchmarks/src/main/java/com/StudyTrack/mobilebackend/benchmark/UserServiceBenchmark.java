@@ -0,0 +1,58 @@
+package com.StudyTrack.mobilebackend.benchmark;
+
+import com.StudyTrack.mobilebackend.dto.UserDto;
+import com.StudyTrack.mobilebackend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.loadUserByUsername against an embedded database with {@code userCount} users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    
+    @Param({"1000"})
+    private int userCount;
+    
+    private ConfigurableApplicationContext context;
+    
+    private UserService userService;
+    
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+        
+        for (int i = 0; i < userCount; i++) {
+            UserDto user = new UserDto();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            // Hashing is not what is measured here, so every user shares one password
+            user.setPassword("password123");
+            user.setFirstName("Bench");
+            user.setLastName("User" + i);
+            userService.registerUser(user);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        next = (next + 1) % userCount;
+        return userService.loadUserByUsername("user" + next);
+    }
+}
@@ -0,0 +1,99 @@
+package com.StudyTrack.mobilebackend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that holds a semaphore permit for as long as a connection is checked out.
+ * Callers beyond the permit count queue in FIFO order on the semaphore instead of all
+ * spinning on the connection pool at once, and give up after the acquire timeout with the
+ * same exception type the pool itself throws.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+    
+    private final Semaphore permits;
+    
+    private final long acquireTimeoutMs;
+    
+    public BulkheadDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection(username, password));
+    }
+    
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+    
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+    
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Database bulkhead full - no permit available after " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+    
+    private Connection guarded(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+    
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
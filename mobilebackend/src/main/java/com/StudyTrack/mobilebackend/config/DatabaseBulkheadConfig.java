@@ -0,0 +1,75 @@
+package com.StudyTrack.mobilebackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Active only with spring.threads.virtual.enabled=true. Platform threads are bounded by
+ * Tomcat's worker pool, virtual threads are not, so the DataSource is wrapped in a
+ * {@link BulkheadDataSource} with as many permits as the Hikari pool has connections
+ * (or database.bulkhead.max-concurrent when set).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DatabaseBulkheadConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBulkheadConfig.class);
+    
+    // Hikari's own default, used while maximum-pool-size is unset (reported as -1 before the pool starts)
+    private static final int DEFAULT_POOL_SIZE = 10;
+    
+    // Static so that it is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                
+                int maxConcurrent = environment.getProperty("database.bulkhead.max-concurrent", Integer.class, 0);
+                if (maxConcurrent <= 0 && bean instanceof HikariDataSource hikari) {
+                    maxConcurrent = hikari.getMaximumPoolSize();
+                }
+                if (maxConcurrent <= 0) {
+                    maxConcurrent = DEFAULT_POOL_SIZE;
+                }
+                long acquireTimeoutMs = environment.getProperty("database.bulkhead.acquire-timeout-ms", Long.class, 30000L);
+                
+                logger.info("Limiting DataSource '{}' to {} concurrent connections for virtual threads", beanName, maxConcurrent);
+                return new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeoutMs);
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkhead;
+            try {
+                bulkhead = dataSource.unwrap(BulkheadDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("database.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                    .description("Free database permits")
+                    .register(registry);
+            Gauge.builder("database.bulkhead.waiting", bulkhead, BulkheadDataSource::getQueueLength)
+                    .description("Threads waiting for a database permit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.StudyTrack.mobilebackend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements, entity loads and collection fetches each request caused,
+ * as distribution summaries tagged with the request's URI pattern (hibernate.request.*).
+ * Work done on async threads, such as the streaming export, is not attributed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HibernateRequestMetricsFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HibernateRequestStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            HibernateRequestStatistics.Counts counts = HibernateRequestStatistics.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            
+            record("hibernate.request.queries", "SQL statements prepared per request", uri, counts.getQueries());
+            record("hibernate.request.entity.loads", "Entities loaded per request", uri, counts.getEntityLoads());
+            record("hibernate.request.collection.fetches", "Collections initialized per request", uri,
+                    counts.getCollectionFetches());
+        }
+    }
+    
+    private void record(String name, String description, String uri, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(value);
+    }
+}
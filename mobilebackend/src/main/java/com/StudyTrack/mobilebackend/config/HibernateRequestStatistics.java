@@ -0,0 +1,97 @@
+package com.StudyTrack.mobilebackend.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Thread-bound counters of the SQL statements, entity loads and collection fetches that
+ * Hibernate performs while one request is being handled. Counting only happens between
+ * {@link #start()} and {@link #stop()}, so work outside a request costs nothing.
+ */
+public final class HibernateRequestStatistics {
+    
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+    
+    private HibernateRequestStatistics() {
+    }
+    
+    public static void start() {
+        CURRENT.set(new Counts());
+    }
+    
+    public static Counts stop() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+    
+    public static final class Counts {
+        private long queries;
+        private long entityLoads;
+        private long collectionFetches;
+        
+        public long getQueries() {
+            return queries;
+        }
+        
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+        
+        public long getCollectionFetches() {
+            return collectionFetches;
+        }
+    }
+    
+    // Sees every SQL string Hibernate prepares
+    static class QueryCounter implements StatementInspector {
+        
+        @Override
+        public String inspect(String sql) {
+            Counts counts = CURRENT.get();
+            if (counts != null) {
+                counts.queries++;
+            }
+            return sql;
+        }
+    }
+    
+    static class LoadCounterIntegrator implements Integrator {
+        
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) HibernateRequestStatistics::onPostLoad);
+            registry.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) HibernateRequestStatistics::onInitializeCollection);
+        }
+        
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+    
+    private static void onPostLoad(PostLoadEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+    
+    private static void onInitializeCollection(InitializeCollectionEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionFetches++;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.StudyTrack.mobilebackend.config;
+
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the calendar_events row of the id_generators table past the highest existing
+ * event id. Needed once for databases created while ids were AUTO_INCREMENT, and harmless
+ * afterwards. Runs after the schema update and before the web server accepts requests.
+ */
+@Component
+public class IdGeneratorInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorInitializer.class);
+    
+    private static final String SEQUENCE_NAME = "calendar_events";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Only injected so that the schema has been created or updated before this runs
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    public void alignCalendarEventIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM calendar_events", Long.class);
+        // The pooled optimizer hands out (next_val - allocationSize, next_val], so keep a full block above maxId
+        long floor = maxId + CalendarEvent.ID_ALLOCATION_SIZE + 1;
+        
+        Long current = jdbcTemplate.query("SELECT next_val FROM id_generators WHERE sequence_name = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, SEQUENCE_NAME);
+        
+        if (current == null) {
+            jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", SEQUENCE_NAME, floor);
+            logger.info("Initialized calendar event id generator at {}", floor);
+        } else if (current < floor) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                    floor, SEQUENCE_NAME, floor);
+            logger.info("Moved calendar event id generator from {} to {}", current, floor);
+        }
+    }
+}
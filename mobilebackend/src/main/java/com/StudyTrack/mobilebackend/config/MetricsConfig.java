@@ -0,0 +1,33 @@
+package com.StudyTrack.mobilebackend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Micrometer wiring beyond what Actuator binds on its own (HTTP server requests, HikariCP,
+ * Hibernate statistics, JVM): @Timed support for the services and the hooks that feed
+ * per-request Hibernate counts to HibernateRequestMetricsFilter.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer() {
+        return properties -> {
+            properties.put("hibernate.session_factory.statement_inspector", new HibernateRequestStatistics.QueryCounter());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new HibernateRequestStatistics.LoadCounterIntegrator()));
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.StudyTrack.mobilebackend.config;
+
+import com.StudyTrack.mobilebackend.reminder.LoggingReminderNotifier;
+import com.StudyTrack.mobilebackend.reminder.ReminderNotifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+    
+    // Replaced by any other ReminderNotifier bean, e.g. one that sends push notifications
+    @Bean
+    @ConditionalOnMissingBean(ReminderNotifier.class)
+    public ReminderNotifier loggingReminderNotifier() {
+        return new LoggingReminderNotifier();
+    }
+}
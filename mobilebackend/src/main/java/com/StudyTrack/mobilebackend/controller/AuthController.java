@@ -4,9 +4,12 @@ import com.StudyTrack.mobilebackend.dto.LoginRequestDto;
 import com.StudyTrack.mobilebackend.dto.LoginResponseDto;
 import com.StudyTrack.mobilebackend.dto.UserDto;
 import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.security.PasswordHashingBusyException;
 import com.StudyTrack.mobilebackend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,6 +35,8 @@ public class AuthController {
             response.put("username", user.getUsername());
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -44,6 +49,8 @@ public class AuthController {
         try {
             LoginResponseDto loginResponse = userService.login(loginRequest);
             return ResponseEntity.ok(loginResponse);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
@@ -51,6 +58,15 @@ public class AuthController {
         }
     }
     
+    // Hashing capacity is exhausted; the client should retry rather than treat it as a bad request
+    private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
     @GetMapping("/check-username/{username}")
     public ResponseEntity<?> checkUsernameAvailability(@PathVariable String username) {
         boolean exists = userService.existsByUsername(username);
@@ -1,37 +1,107 @@
 package com.StudyTrack.mobilebackend.controller;
 
+import com.StudyTrack.mobilebackend.dto.BatchItemResultDto;
 import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.dto.EventFilterDto;
 import com.StudyTrack.mobilebackend.entity.CalendarEvent;
 import com.StudyTrack.mobilebackend.service.CalendarEventService;
+import com.StudyTrack.mobilebackend.service.CategoryTagService;
+import com.StudyTrack.mobilebackend.service.CommonSlotService;
+import com.StudyTrack.mobilebackend.service.EventQueryService;
+import com.StudyTrack.mobilebackend.service.EventStatsService;
+import com.StudyTrack.mobilebackend.service.EventSyncService;
+import com.StudyTrack.mobilebackend.service.FreeBusyService;
+import com.StudyTrack.mobilebackend.service.IcsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/events")
 @CrossOrigin(origins = "*")
 public class CalendarEventController {
     
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+    
     @Autowired
     private CalendarEventService eventService;
     
+    @Autowired
+    private EventSyncService syncService;
+    
+    @Autowired
+    private EventQueryService queryService;
+    
+    @Autowired
+    private FreeBusyService freeBusyService;
+    
+    @Autowired
+    private CommonSlotService commonSlotService;
+    
+    @Autowired
+    private IcsService icsService;
+    
+    @Autowired
+    private EventStatsService statsService;
+    
+    @Autowired
+    private CategoryTagService categoryTagService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping
-    public ResponseEntity<?> createEvent(@Valid @RequestBody CalendarEventDto eventDto) {
+    public ResponseEntity<?> createEvent(@Valid @RequestBody CalendarEventDto eventDto,
+                                         @RequestParam(defaultValue = "false") boolean checkConflicts) {
         try {
             String username = getCurrentUsername();
+            
+            if (checkConflicts) {
+                List<CalendarEventDto> conflicts = eventService.findConflicts(
+                        username, eventDto.getStartTime(), eventDto.getEndTime(), null);
+                if (!conflicts.isEmpty()) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "Event conflicts with existing events");
+                    error.put("conflicts", conflicts);
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+                }
+            }
             CalendarEvent event = eventService.createEvent(eventDto, username);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Event created successfully");
             response.put("eventId", event.getId());
-            response.put("event", event);
+            response.put("event", eventService.toDto(event));
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -49,7 +119,7 @@ public class CalendarEventController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Event updated successfully");
-            response.put("event", event);
+            response.put("event", eventService.toDto(event));
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -59,6 +129,32 @@ public class CalendarEventController {
         }
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<?> createEvents(@RequestBody List<CalendarEventDto> eventDtos) {
+        try {
+            String username = getCurrentUsername();
+            List<BatchItemResultDto> results = eventService.createEvents(eventDtos, username);
+            return ResponseEntity.ok(batchResponse("Batch create processed", results));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateEvents(@RequestBody List<CalendarEventDto> eventDtos) {
+        try {
+            String username = getCurrentUsername();
+            List<BatchItemResultDto> results = eventService.updateEvents(eventDtos, username);
+            return ResponseEntity.ok(batchResponse("Batch update processed", results));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     @DeleteMapping("/{eventId}")
     public ResponseEntity<?> deleteEvent(@PathVariable Long eventId) {
         try {
@@ -76,12 +172,81 @@ public class CalendarEventController {
         }
     }
     
+    /**
+     * All of the user's events, or with any of from, to, status, priority, categoryId,
+     * eventType, courseCode, tags, match, cursor or limit, one page of the matching events
+     * in start time order. Follow nextCursor while hasMore.
+     */
     @GetMapping
-    public ResponseEntity<?> getUserEvents() {
+    public ResponseEntity<?> getUserEvents(EventFilterDto filter, WebRequest request) {
         try {
             String username = getCurrentUsername();
-            List<CalendarEvent> events = eventService.getUserEvents(username);
-            return ResponseEntity.ok(events);
+            if (!filter.isEmpty()) {
+                return ResponseEntity.ok(queryService.queryEvents(username, filter));
+            }
+            String etag = calendarEtag(eventService.getCalendarVersion(username));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            List<CalendarEventDto> events = eventService.getUserEvents(username);
+            return ResponseEntity.ok().eTag(etag).body(events);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Writes the JSON array element by element while the service walks the cursor
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamUserEvents(EventFilterDto filter) {
+        if (!filter.isEmpty()) {
+            // Filters are served paginated; streaming them would silently return everything
+            throw new RuntimeException("stream=true cannot be combined with filters");
+        }
+        String username = getCurrentUsername();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                eventService.exportUserEvents(username, dto -> {
+                    try {
+                        generator.writeObject(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    // iCalendar feed of all the user's events, written while the cursor is walked
+    @GetMapping("/export.ics")
+    public ResponseEntity<StreamingResponseBody> exportIcs() {
+        String username = getCurrentUsername();
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            icsService.exportIcs(username, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"calendar.ics\"")
+                .body(body);
+    }
+    
+    // Accepts the .ics either as a multipart "file" part or as the raw request body
+    @PostMapping("/import/ics")
+    public ResponseEntity<?> importIcs(@RequestParam(value = "file", required = false) MultipartFile file,
+                                       HttpServletRequest request) {
+        try {
+            String username = getCurrentUsername();
+            InputStream input = file != null ? file.getInputStream() : request.getInputStream();
+            try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+                return ResponseEntity.ok(icsService.importIcs(username, reader));
+            }
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -90,10 +255,18 @@ public class CalendarEventController {
     }
     
     @GetMapping("/{eventId}")
-    public ResponseEntity<?> getEventById(@PathVariable Long eventId) {
+    public ResponseEntity<?> getEventById(@PathVariable Long eventId, WebRequest request) {
         try {
+            Optional<Long> version = eventService.getEventCalendarVersion(eventId);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = calendarEtag(version.get());
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
             return eventService.getEventById(eventId)
-                    .map(ResponseEntity::ok)
+                    .map(event -> ResponseEntity.ok().eTag(etag).body(event))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -102,12 +275,172 @@ public class CalendarEventController {
         }
     }
     
+    /**
+     * Delta sync: events created or updated and ids of events deleted since the cursor.
+     * Omit {@code since} for the first sync; keep requesting with nextCursor while hasMore.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since) {
+        try {
+            String username = getCurrentUsername();
+            return ResponseEntity.ok(syncService.getChanges(username, since));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    @GetMapping("/conflicts")
+    public ResponseEntity<?> getConflicts(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                          @RequestParam(required = false) Long excludeId) {
+        try {
+            String username = getCurrentUsername();
+            List<CalendarEventDto> conflicts = eventService.findConflicts(username, start, end, excludeId);
+            return ResponseEntity.ok(conflicts);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Events starting in [from, to), with recurring series expanded into occurrences
+    @GetMapping("/range")
+    public ResponseEntity<?> getEventsInRange(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                              WebRequest request) {
+        try {
+            String username = getCurrentUsername();
+            String etag = calendarEtag(eventService.getCalendarVersion(username));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            List<CalendarEventDto> events = eventService.getEventsInRange(username, from, to);
+            return ResponseEntity.ok().eTag(etag).body(events);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Merged busy intervals in [from, to); cancelled and postponed events are free time
+    @GetMapping("/freebusy")
+    public ResponseEntity<?> getFreeBusy(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                         WebRequest request) {
+        try {
+            String username = getCurrentUsername();
+            String etag = calendarEtag(eventService.getCalendarVersion(username));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).body(freeBusyService.getFreeBusy(username, from, to));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Dashboard counts; overdue and due-this-week depend on the date, so it is part of the ETag
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(WebRequest request) {
+        try {
+            String username = getCurrentUsername();
+            String etag = calendarEtag(eventService.getCalendarVersion(username), LocalDate.now());
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).body(statsService.getStats(username));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // All categories, with how many of the current user's events are in each
+    @GetMapping("/categories")
+    public ResponseEntity<?> getCategories() {
+        try {
+            return ResponseEntity.ok(categoryTagService.getCategories(getCurrentUsername()));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // All tags, with how many of the current user's events carry each
+    @GetMapping("/tags")
+    public ResponseEntity<?> getTags() {
+        try {
+            return ResponseEntity.ok(categoryTagService.getTags(getCurrentUsername()));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Slots in [from, to) of at least minMinutes in which the current user and all userIds are free
+    @GetMapping("/freebusy/common")
+    public ResponseEntity<?> getCommonSlots(@RequestParam List<Long> userIds,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                            @RequestParam(defaultValue = "30") int minMinutes) {
+        try {
+            String username = getCurrentUsername();
+            return ResponseEntity.ok(commonSlotService.findCommonSlots(username, userIds, from, to, minMinutes));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Lets other users include the current user's busy time in their common-slot searches
+    @PutMapping("/freebusy/sharing")
+    public ResponseEntity<?> setFreeBusySharing(@RequestParam boolean enabled) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("shared", commonSlotService.setSharing(getCurrentUsername(), enabled));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEvents(@RequestParam String q,
+                                          @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String username = getCurrentUsername();
+            return ResponseEntity.ok(eventService.searchEvents(username, q, limit));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     @GetMapping("/upcoming")
-    public ResponseEntity<?> getUpcomingEvents() {
+    public ResponseEntity<?> getUpcomingEvents(WebRequest request) {
         try {
             String username = getCurrentUsername();
-            List<CalendarEvent> events = eventService.getUpcomingEvents(username);
-            return ResponseEntity.ok(events);
+            // The window moves with time, so the minute the service works with is part of the tag
+            String etag = calendarEtag(eventService.getCalendarVersion(username),
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            List<CalendarEventDto> events = eventService.getUpcomingEvents(username);
+            return ResponseEntity.ok().eTag(etag).body(events);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -116,11 +449,15 @@ public class CalendarEventController {
     }
     
     @GetMapping("/today")
-    public ResponseEntity<?> getTodayEvents() {
+    public ResponseEntity<?> getTodayEvents(WebRequest request) {
         try {
             String username = getCurrentUsername();
-            List<CalendarEvent> events = eventService.getTodayEvents(username);
-            return ResponseEntity.ok(events);
+            String etag = calendarEtag(eventService.getCalendarVersion(username), LocalDate.now());
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            List<CalendarEventDto> events = eventService.getTodayEvents(username);
+            return ResponseEntity.ok().eTag(etag).body(events);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -128,6 +465,29 @@ public class CalendarEventController {
         }
     }
     
+    private Map<String, Object> batchResponse(String message, List<BatchItemResultDto> results) {
+        long succeeded = results.stream().filter(BatchItemResultDto::isSuccess).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        response.put("succeeded", succeeded);
+        response.put("failed", results.size() - succeeded);
+        response.put("results", results);
+        return response;
+    }
+    
+    /**
+     * Strong ETag from the owner's calendar version plus whatever else the response depends
+     * on. checkNotModified answers 304 before any event is loaded when the client's tag matches.
+     */
+    private String calendarEtag(long version, Object... scope) {
+        StringBuilder etag = new StringBuilder("\"v").append(version);
+        for (Object part : scope) {
+            etag.append('-').append(part);
+        }
+        return etag.append('"').toString();
+    }
+    
     private String getCurrentUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication.getName();
@@ -0,0 +1,57 @@
+package com.StudyTrack.mobilebackend.dto;
+
+public class BatchItemResultDto {
+    private int index;
+    private Long eventId;
+    private boolean success;
+    private String error;
+    
+    public BatchItemResultDto() {}
+    
+    public BatchItemResultDto(int index, Long eventId, boolean success, String error) {
+        this.index = index;
+        this.eventId = eventId;
+        this.success = success;
+        this.error = error;
+    }
+    
+    public static BatchItemResultDto success(int index, Long eventId) {
+        return new BatchItemResultDto(index, eventId, true, null);
+    }
+    
+    public static BatchItemResultDto failure(int index, Long eventId, String error) {
+        return new BatchItemResultDto(index, eventId, false, error);
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+} 
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.StudyTrack.mobilebackend.dto;
 
+import com.StudyTrack.mobilebackend.entity.AssignmentEvent;
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
 import com.StudyTrack.mobilebackend.entity.EventPriority;
 import com.StudyTrack.mobilebackend.entity.EventStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -38,8 +41,56 @@ public class CalendarEventDto {
     private String submissionMethod;
     private boolean isGroupAssignment;
     
+    // Recurrence fields: a series master carries the rule and cancelled occurrences, an
+    // expanded occurrence or an overriding event carries its series id and original start
+    private String recurrenceRule;
+    private List<LocalDateTime> exceptionDates;
+    private Long seriesId;
+    private LocalDateTime originalStartTime;
+    
     public CalendarEventDto() {}
     
+    /**
+     * Copies the scalar fields of an event. Only the ids are read from the user and
+     * category associations, so no lazy loading is triggered; tag ids are left for
+     * the caller to fill in.
+     */
+    public static CalendarEventDto fromEntity(CalendarEvent event) {
+        CalendarEventDto dto = new CalendarEventDto();
+        dto.setId(event.getId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setStartTime(event.getStartTime());
+        dto.setEndTime(event.getEndTime());
+        dto.setPriority(event.getPriority());
+        dto.setStatus(event.getStatus());
+        dto.setEventType(event.getEventType());
+        dto.setCreatedAt(event.getCreatedAt());
+        dto.setUpdatedAt(event.getUpdatedAt());
+        dto.setRecurrenceRule(event.getRecurrenceRule());
+        dto.setSeriesId(event.getSeriesId());
+        dto.setOriginalStartTime(event.getOriginalStartTime());
+        
+        if (event.getUser() != null) {
+            dto.setUserId(event.getUser().getId());
+        }
+        if (event.getCategory() != null) {
+            dto.setCategoryId(event.getCategory().getId());
+        }
+        
+        if (event instanceof AssignmentEvent assignment) {
+            dto.setSubject(assignment.getSubject());
+            dto.setCourseCode(assignment.getCourseCode());
+            if (assignment.getAssignmentType() != null) {
+                dto.setAssignmentType(assignment.getAssignmentType().name());
+            }
+            dto.setTotalPoints(assignment.getTotalPoints());
+            dto.setSubmissionMethod(assignment.getSubmissionMethod());
+            dto.setGroupAssignment(assignment.isGroupAssignment());
+        }
+        return dto;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -192,4 +243,66 @@ public class CalendarEventDto {
     public void setGroupAssignment(boolean groupAssignment) {
         isGroupAssignment = groupAssignment;
     }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public List<LocalDateTime> getExceptionDates() {
+        return exceptionDates;
+    }
+    
+    public void setExceptionDates(List<LocalDateTime> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+    
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public LocalDateTime getOriginalStartTime() {
+        return originalStartTime;
+    }
+    
+    public void setOriginalStartTime(LocalDateTime originalStartTime) {
+        this.originalStartTime = originalStartTime;
+    }
+    
+    /**
+     * One occurrence of this series master: the master's fields moved to {@code start},
+     * keeping the duration. The occurrence keeps the master's id and names it as its series.
+     */
+    public CalendarEventDto occurrenceAt(LocalDateTime start) {
+        CalendarEventDto occurrence = new CalendarEventDto();
+        occurrence.setId(id);
+        occurrence.setTitle(title);
+        occurrence.setDescription(description);
+        occurrence.setStartTime(start);
+        occurrence.setEndTime(start.plus(Duration.between(startTime, endTime)));
+        occurrence.setPriority(priority);
+        occurrence.setStatus(status);
+        occurrence.setEventType(eventType);
+        occurrence.setUserId(userId);
+        occurrence.setCategoryId(categoryId);
+        occurrence.setTagIds(tagIds);
+        occurrence.setCreatedAt(createdAt);
+        occurrence.setUpdatedAt(updatedAt);
+        occurrence.setSubject(subject);
+        occurrence.setCourseCode(courseCode);
+        occurrence.setAssignmentType(assignmentType);
+        occurrence.setTotalPoints(totalPoints);
+        occurrence.setSubmissionMethod(submissionMethod);
+        occurrence.setGroupAssignment(isGroupAssignment);
+        occurrence.setSeriesId(id);
+        occurrence.setOriginalStartTime(start);
+        return occurrence;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommonSlotsDto {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int minMinutes;
+    private List<Long> userIds = new ArrayList<>();
+    // Sorted [start, end) pairs in which every user is free for at least minMinutes
+    private List<LocalDateTime[]> slots = new ArrayList<>();
+    
+    public CommonSlotsDto() {}
+    
+    public CommonSlotsDto(LocalDateTime from, LocalDateTime to, int minMinutes,
+                          List<Long> userIds, List<LocalDateTime[]> slots) {
+        this.from = from;
+        this.to = to;
+        this.minMinutes = minMinutes;
+        this.userIds = userIds;
+        this.slots = slots;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+    
+    public int getMinMinutes() {
+        return minMinutes;
+    }
+    
+    public void setMinMinutes(int minMinutes) {
+        this.minMinutes = minMinutes;
+    }
+    
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+    
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+    
+    public List<LocalDateTime[]> getSlots() {
+        return slots;
+    }
+    
+    public void setSlots(List<LocalDateTime[]> slots) {
+        this.slots = slots;
+    }
+}
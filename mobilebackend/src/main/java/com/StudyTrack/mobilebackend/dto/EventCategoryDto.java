@@ -0,0 +1,74 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import com.StudyTrack.mobilebackend.entity.EventCategory;
+
+public class EventCategoryDto {
+    private Long id;
+    private String name;
+    private String description;
+    private String colorHex;
+    private boolean active;
+    // Events of the current user in this category
+    private long eventCount;
+    
+    public EventCategoryDto() {}
+    
+    public static EventCategoryDto fromEntity(EventCategory category, long eventCount) {
+        EventCategoryDto dto = new EventCategoryDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setDescription(category.getDescription());
+        dto.setColorHex(category.getColorHex());
+        dto.setActive(category.isActive());
+        dto.setEventCount(eventCount);
+        return dto;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getColorHex() {
+        return colorHex;
+    }
+    
+    public void setColorHex(String colorHex) {
+        this.colorHex = colorHex;
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+    
+    public long getEventCount() {
+        return eventCount;
+    }
+    
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
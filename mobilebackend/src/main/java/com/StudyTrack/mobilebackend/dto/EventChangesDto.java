@@ -0,0 +1,55 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventChangesDto {
+    private List<CalendarEventDto> changed = new ArrayList<>();
+    private List<Long> deleted = new ArrayList<>();
+    private String nextCursor;
+    private boolean hasMore;
+    private boolean fullResync;
+    
+    public EventChangesDto() {}
+    
+    public List<CalendarEventDto> getChanged() {
+        return changed;
+    }
+    
+    public void setChanged(List<CalendarEventDto> changed) {
+        this.changed = changed;
+    }
+    
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    // True when the response starts from scratch and the client should drop its local copy
+    public boolean isFullResync() {
+        return fullResync;
+    }
+    
+    public void setFullResync(boolean fullResync) {
+        this.fullResync = fullResync;
+    }
+}
@@ -0,0 +1,127 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import com.StudyTrack.mobilebackend.entity.EventPriority;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Query parameters of the filtered event listing; null fields do not filter
+public class EventFilterDto {
+    // Start time in [from, to)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    // Comma-separated values match any of them
+    private List<EventStatus> status;
+    private List<EventPriority> priority;
+    private Long categoryId;
+    // ASSIGNMENT or GENERAL
+    private String eventType;
+    private String courseCode;
+    // Tag names; match=all (default) requires every tag, match=any at least one
+    private List<String> tags;
+    private String match;
+    // nextCursor of the previous page
+    private String cursor;
+    private Integer limit;
+    
+    public EventFilterDto() {}
+    
+    // True when the request carries none of the listing parameters
+    public boolean isEmpty() {
+        return from == null && to == null && status == null && priority == null && categoryId == null
+                && eventType == null && courseCode == null && tags == null && match == null
+                && cursor == null && limit == null;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+    
+    public List<EventStatus> getStatus() {
+        return status;
+    }
+    
+    public void setStatus(List<EventStatus> status) {
+        this.status = status;
+    }
+    
+    public List<EventPriority> getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(List<EventPriority> priority) {
+        this.priority = priority;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public String getMatch() {
+        return match;
+    }
+    
+    public void setMatch(String match) {
+        this.match = match;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,37 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventPageDto {
+    private List<CalendarEventDto> events = new ArrayList<>();
+    // Pass as cursor to get the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+    
+    public EventPageDto() {}
+    
+    public List<CalendarEventDto> getEvents() {
+        return events;
+    }
+    
+    public void setEvents(List<CalendarEventDto> events) {
+        this.events = events;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,137 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import com.StudyTrack.mobilebackend.entity.EventPriority;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class EventStatsDto {
+    private LocalDate today;
+    private long total;
+    // Open single events (scheduled or in progress); series masters are not counted
+    private long open;
+    // Open events whose end date is before today
+    private long overdue;
+    // Open events ending in [today, today + 7 days)
+    private long dueThisWeek;
+    // Every status and priority is present, with zero when there are no events
+    private Map<EventStatus, Long> byStatus = new EnumMap<>(EventStatus.class);
+    private Map<EventPriority, Long> byPriority = new EnumMap<>(EventPriority.class);
+    private List<CategoryCount> byCategory = new ArrayList<>();
+    
+    public EventStatsDto() {
+        for (EventStatus status : EventStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (EventPriority priority : EventPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+    }
+    
+    public LocalDate getToday() {
+        return today;
+    }
+    
+    public void setToday(LocalDate today) {
+        this.today = today;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public long getOpen() {
+        return open;
+    }
+    
+    public void setOpen(long open) {
+        this.open = open;
+    }
+    
+    public long getOverdue() {
+        return overdue;
+    }
+    
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+    
+    public long getDueThisWeek() {
+        return dueThisWeek;
+    }
+    
+    public void setDueThisWeek(long dueThisWeek) {
+        this.dueThisWeek = dueThisWeek;
+    }
+    
+    public Map<EventStatus, Long> getByStatus() {
+        return byStatus;
+    }
+    
+    public void setByStatus(Map<EventStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+    
+    public Map<EventPriority, Long> getByPriority() {
+        return byPriority;
+    }
+    
+    public void setByPriority(Map<EventPriority, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+    
+    public List<CategoryCount> getByCategory() {
+        return byCategory;
+    }
+    
+    public void setByCategory(List<CategoryCount> byCategory) {
+        this.byCategory = byCategory;
+    }
+    
+    public static class CategoryCount {
+        // Null for events without a category
+        private Long categoryId;
+        private String name;
+        private long count;
+        
+        public CategoryCount() {}
+        
+        public CategoryCount(Long categoryId, String name, long count) {
+            this.categoryId = categoryId;
+            this.name = name;
+            this.count = count;
+        }
+        
+        public Long getCategoryId() {
+            return categoryId;
+        }
+        
+        public void setCategoryId(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
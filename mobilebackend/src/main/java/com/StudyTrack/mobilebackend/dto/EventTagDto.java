@@ -0,0 +1,64 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import com.StudyTrack.mobilebackend.entity.EventTag;
+
+public class EventTagDto {
+    private Long id;
+    private String name;
+    private String colorHex;
+    private boolean active;
+    // Events of the current user with this tag
+    private long eventCount;
+    
+    public EventTagDto() {}
+    
+    public static EventTagDto fromEntity(EventTag tag, long eventCount) {
+        EventTagDto dto = new EventTagDto();
+        dto.setId(tag.getId());
+        dto.setName(tag.getName());
+        dto.setColorHex(tag.getColorHex());
+        dto.setActive(tag.isActive());
+        dto.setEventCount(eventCount);
+        return dto;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getColorHex() {
+        return colorHex;
+    }
+    
+    public void setColorHex(String colorHex) {
+        this.colorHex = colorHex;
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+    
+    public long getEventCount() {
+        return eventCount;
+    }
+    
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
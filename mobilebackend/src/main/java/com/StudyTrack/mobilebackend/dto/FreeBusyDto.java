@@ -0,0 +1,44 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FreeBusyDto {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // Merged, sorted, non-overlapping [start, end) pairs clipped to the window
+    private List<LocalDateTime[]> busy = new ArrayList<>();
+    
+    public FreeBusyDto() {}
+    
+    public FreeBusyDto(LocalDateTime from, LocalDateTime to, List<LocalDateTime[]> busy) {
+        this.from = from;
+        this.to = to;
+        this.busy = busy;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+    
+    public List<LocalDateTime[]> getBusy() {
+        return busy;
+    }
+    
+    public void setBusy(List<LocalDateTime[]> busy) {
+        this.busy = busy;
+    }
+}
@@ -0,0 +1,57 @@
+package com.StudyTrack.mobilebackend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IcsImportResultDto {
+    private int imported;
+    private int failed;
+    // Events beyond events.import.max-events, which are not imported
+    private int skipped;
+    // First failures only; index is the position of the VEVENT in the file, from 0
+    private List<BatchItemResultDto> failures = new ArrayList<>();
+    // Set when the file is malformed part way through; events after that point were not read
+    private String parseError;
+    
+    public IcsImportResultDto() {}
+    
+    public int getImported() {
+        return imported;
+    }
+    
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public int getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+    
+    public List<BatchItemResultDto> getFailures() {
+        return failures;
+    }
+    
+    public void setFailures(List<BatchItemResultDto> failures) {
+        this.failures = failures;
+    }
+    
+    public String getParseError() {
+        return parseError;
+    }
+    
+    public void setParseError(String parseError) {
+        this.parseError = parseError;
+    }
+}
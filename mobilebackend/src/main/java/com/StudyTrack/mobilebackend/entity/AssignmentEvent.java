@@ -12,8 +12,9 @@ import java.time.LocalDateTime;
 @DiscriminatorValue("ASSIGNMENT")
 public class AssignmentEvent extends CalendarEvent {
     
+    // Nullable in the shared single table; required for assignments through validation
     @NotBlank(message = "Subject is required for assignments")
-    @Column(nullable = false)
+    @Column
     private String subject;
     
     @Column(name = "course_code")
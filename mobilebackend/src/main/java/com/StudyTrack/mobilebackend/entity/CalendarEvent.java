@@ -5,20 +5,51 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * CalendarEvent entity representing an event in the academic calendar.
  * Demonstrates inheritance, polymorphism, and association relationships.
  */
 @Entity
-@Table(name = "calendar_events")
+@Table(name = "calendar_events", indexes = {
+    // end_time lets overlap queries (free/busy) filter inside the index before touching rows
+    @Index(name = "idx_calendar_events_user_start_end", columnList = "user_id, start_time, end_time"),
+    @Index(name = "idx_calendar_events_user_updated", columnList = "user_id, updated_at"),
+    // Keyset order of the listing; id is spelled out because the index above ends in end_time
+    @Index(name = "idx_calendar_events_user_start_id", columnList = "user_id, start_time, id"),
+    // Filtered listing: user and the filter by equality, then the keyset range on start_time
+    @Index(name = "idx_calendar_events_user_status_start", columnList = "user_id, status, start_time"),
+    @Index(name = "idx_calendar_events_user_category_start", columnList = "user_id, category_id, start_time"),
+    @Index(name = "idx_calendar_events_user_course_start", columnList = "user_id, course_code, start_time"),
+    // Cross-user time windows: the reminder scheduler's rolling load
+    @Index(name = "idx_calendar_events_start", columnList = "start_time"),
+    @Index(name = "idx_calendar_events_end", columnList = "end_time"),
+    // Status sweeper: equality on status, then a range on the time
+    @Index(name = "idx_calendar_events_status_start", columnList = "status, start_time"),
+    @Index(name = "idx_calendar_events_status_end", columnList = "status, end_time"),
+    @Index(name = "idx_calendar_events_series", columnList = "series_id, original_start_time")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "event_type", discriminatorType = DiscriminatorType.STRING)
 public abstract class CalendarEvent {
     
+    // Ids come from a pooled table generator rather than IDENTITY so that Hibernate
+    // can batch inserts; see IdGeneratorInitializer for seeding over existing rows
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "calendar_event_id")
+    @TableGenerator(
+        name = "calendar_event_id",
+        table = "id_generators",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "calendar_events",
+        allocationSize = ID_ALLOCATION_SIZE
+    )
     private Long id;
     
     @NotBlank(message = "Title is required")
@@ -50,6 +81,33 @@ public abstract class CalendarEvent {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Checked on every update so a user edit and the status sweeper cannot overwrite each other;
+    // bulk updates in CalendarEventRepository bump it themselves
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+    
+    // Series master: RRULE-style rule (see RecurrenceRule); start and end times are those of the first occurrence
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+    
+    // No occurrence of the series starts later than this; null when the series never ends
+    @Column(name = "recurrence_until")
+    private LocalDateTime recurrenceUntil;
+    
+    // Start times of cancelled occurrences of a series
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "event_exception_dates", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "original_start")
+    private Set<LocalDateTime> exceptionDates = new HashSet<>();
+    
+    // Overridden occurrence: the series it belongs to and the start time it replaces
+    @Column(name = "series_id")
+    private Long seriesId;
+    
+    @Column(name = "original_start_time")
+    private LocalDateTime originalStartTime;
+    
     // Association with User (Many-to-One)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -60,10 +118,11 @@ public abstract class CalendarEvent {
     @JoinColumn(name = "category_id")
     private EventCategory category;
     
-    // Association with EventTag (Many-to-Many)
+    // Association with EventTag (Many-to-Many). The join table used to share EventTag's "event_tags"
+    // name; databases created then keep NOT NULL event_id and tag_id columns there that must be dropped
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
-        name = "event_tags",
+        name = "calendar_event_tags",
         joinColumns = @JoinColumn(name = "event_id"),
         inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
@@ -96,6 +155,10 @@ public abstract class CalendarEvent {
         return java.time.Duration.between(startTime, endTime).toMinutes();
     }
     
+    public boolean isSeries() {
+        return recurrenceRule != null;
+    }
+    
     public boolean isToday() {
         LocalDateTime now = LocalDateTime.now();
         return startTime.toLocalDate().equals(now.toLocalDate());
@@ -191,6 +254,10 @@ public abstract class CalendarEvent {
         this.updatedAt = updatedAt;
     }
     
+    public long getVersion() {
+        return version;
+    }
+    
     public User getUser() {
         return user;
     }
@@ -215,6 +282,46 @@ public abstract class CalendarEvent {
         this.tags = tags;
     }
     
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public LocalDateTime getRecurrenceUntil() {
+        return recurrenceUntil;
+    }
+    
+    public void setRecurrenceUntil(LocalDateTime recurrenceUntil) {
+        this.recurrenceUntil = recurrenceUntil;
+    }
+    
+    public Set<LocalDateTime> getExceptionDates() {
+        return exceptionDates;
+    }
+    
+    public void setExceptionDates(Set<LocalDateTime> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+    
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public LocalDateTime getOriginalStartTime() {
+        return originalStartTime;
+    }
+    
+    public void setOriginalStartTime(LocalDateTime originalStartTime) {
+        this.originalStartTime = originalStartTime;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,71 @@
+package com.StudyTrack.mobilebackend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * CalendarEventTombstone entity recording that an event was deleted, so that clients
+ * syncing incrementally learn about deletions. Kept for a retention period, then purged.
+ */
+@Entity
+@Table(name = "calendar_event_tombstones", indexes = {
+    @Index(name = "idx_tombstones_user_deleted", columnList = "user_id, deleted_at")
+})
+public class CalendarEventTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Default constructor
+    public CalendarEventTombstone() {
+    }
+    
+    public CalendarEventTombstone(Long eventId, Long userId, LocalDateTime deletedAt) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
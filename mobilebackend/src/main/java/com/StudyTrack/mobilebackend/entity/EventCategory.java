@@ -1,5 +1,6 @@
 package com.StudyTrack.mobilebackend.entity;
 
+import com.StudyTrack.mobilebackend.service.ReferenceDataCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
@@ -12,6 +13,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "event_categories")
+@EntityListeners(ReferenceDataCacheInvalidator.class)
 public class EventCategory {
     
     @Id
@@ -37,7 +39,7 @@ public class EventCategory {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    // Association with CalendarEvent (One-to-Many)
+    // Association with CalendarEvent (One-to-Many); counts come from CategoryTagService, as size() loads every event
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<CalendarEvent> events = new ArrayList<>();
     
@@ -54,15 +56,6 @@ public class EventCategory {
         this.description = description;
     }
     
-    // Business methods
-    public int getEventCount() {
-        return events.size();
-    }
-    
-    public boolean hasEvents() {
-        return !events.isEmpty();
-    }
-    
     // Getters and Setters
     public Long getId() {
         return id;
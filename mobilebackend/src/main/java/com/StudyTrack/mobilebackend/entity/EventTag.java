@@ -1,5 +1,6 @@
 package com.StudyTrack.mobilebackend.entity;
 
+import com.StudyTrack.mobilebackend.service.ReferenceDataCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
@@ -12,6 +13,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "event_tags")
+@EntityListeners(ReferenceDataCacheInvalidator.class)
 public class EventTag {
     
     @Id
@@ -34,7 +36,7 @@ public class EventTag {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    // Association with CalendarEvent (Many-to-Many)
+    // Association with CalendarEvent (Many-to-Many); counts come from CategoryTagService, as size() loads every event
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
     private List<CalendarEvent> events = new ArrayList<>();
     
@@ -50,15 +52,6 @@ public class EventTag {
         this.name = name;
     }
     
-    // Business methods
-    public int getEventCount() {
-        return events.size();
-    }
-    
-    public boolean hasEvents() {
-        return !events.isEmpty();
-    }
-    
     // Getters and Setters
     public Long getId() {
         return id;
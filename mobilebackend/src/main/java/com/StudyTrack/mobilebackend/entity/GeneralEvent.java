@@ -0,0 +1,30 @@
+package com.StudyTrack.mobilebackend.entity;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Entity;
+import java.time.LocalDateTime;
+
+/**
+ * GeneralEvent entity representing events that are not assignments (lectures, meetings, reminders).
+ * Demonstrates inheritance and polymorphism by extending CalendarEvent.
+ */
+@Entity
+@DiscriminatorValue("GENERAL")
+public class GeneralEvent extends CalendarEvent {
+    
+    // Default constructor
+    public GeneralEvent() {
+        super();
+    }
+    
+    // Parameterized constructor
+    public GeneralEvent(String title, String description, LocalDateTime startTime, LocalDateTime endTime) {
+        super(title, description, startTime, endTime);
+    }
+    
+    // Implementation of abstract method - demonstrates polymorphism
+    @Override
+    public String getEventType() {
+        return "GENERAL";
+    }
+} 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.StudyTrack.mobilebackend.entity;
 
+import com.StudyTrack.mobilebackend.security.UserDetailsCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -14,6 +15,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserDetailsCacheInvalidator.class)
 public class User {
     
     @Id
@@ -54,6 +56,16 @@ public class User {
     @Column(name = "is_active")
     private boolean isActive = true;
     
+    // Bumped on every change to the user's events. Not updatable so that flushing a loaded
+    // User can never write back a stale value; see UserRepository.incrementCalendarVersion
+    @Column(name = "calendar_version", updatable = false)
+    private Long calendarVersion = 0L;
+    
+    // Whether other users may include this user's busy time in common-slot searches;
+    // NULL on rows created before the column existed, which counts as not shared
+    @Column(name = "free_busy_shared")
+    private Boolean freeBusyShared = false;
+    
     // Association with CalendarEvent (One-to-Many)
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<CalendarEvent> events = new ArrayList<>();
@@ -147,6 +159,22 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public long getCalendarVersion() {
+        return calendarVersion != null ? calendarVersion : 0L;
+    }
+    
+    public void setCalendarVersion(Long calendarVersion) {
+        this.calendarVersion = calendarVersion;
+    }
+    
+    public boolean isFreeBusyShared() {
+        return Boolean.TRUE.equals(freeBusyShared);
+    }
+    
+    public void setFreeBusyShared(boolean freeBusyShared) {
+        this.freeBusyShared = freeBusyShared;
+    }
+    
     public boolean isActive() {
         return isActive;
     }
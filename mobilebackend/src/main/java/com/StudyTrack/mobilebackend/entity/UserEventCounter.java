@@ -0,0 +1,74 @@
+package com.StudyTrack.mobilebackend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * UserEventCounter entity holding how many open (scheduled or in progress) single events
+ * a user has due on a given day, so the dashboard's open, overdue and due-this-week
+ * counts are one indexed read. Maintained by the writes that change events and rebuilt
+ * from the events table periodically.
+ */
+@Entity
+@Table(name = "user_event_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_event_counters_user_due", columnNames = {"user_id", "due_date"})
+})
+public class UserEventCounter {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    // Date of the event's end time, which is an assignment's deadline
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+    
+    @Column(name = "open_count", nullable = false)
+    private long openCount;
+    
+    // Default constructor
+    public UserEventCounter() {
+    }
+    
+    public UserEventCounter(Long userId, LocalDate dueDate, long openCount) {
+        this.userId = userId;
+        this.dueDate = dueDate;
+        this.openCount = openCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+    
+    public long getOpenCount() {
+        return openCount;
+    }
+    
+    public void setOpenCount(long openCount) {
+        this.openCount = openCount;
+    }
+}
@@ -0,0 +1,12 @@
+package com.StudyTrack.mobilebackend.ics;
+
+/**
+ * Thrown by IcsReader when the stream is not valid iCalendar. Events already handed to
+ * the consumer stay valid; the message names the offending line.
+ */
+public class IcsParseException extends RuntimeException {
+    
+    public IcsParseException(String message) {
+        super(message);
+    }
+}
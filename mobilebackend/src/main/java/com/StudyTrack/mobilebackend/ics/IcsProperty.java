@@ -0,0 +1,33 @@
+package com.StudyTrack.mobilebackend.ics;
+
+import java.util.Map;
+
+/**
+ * One content line of an iCalendar stream, e.g. {@code DTSTART;TZID=Europe/Berlin:20261020T090000}.
+ * Names and parameter names are upper-cased; the value is kept raw (still escaped) because
+ * its type depends on the property.
+ */
+public record IcsProperty(String name, Map<String, String> parameters, String value) {
+    
+    public String parameter(String name) {
+        return parameters.get(name);
+    }
+    
+    // TEXT value with the RFC 5545 escapes (\n, \, \; \\) resolved
+    public String text() {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                text.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package com.StudyTrack.mobilebackend.ics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming iCalendar (RFC 5545) reader. Lines are unfolded as they are read and each
+ * VEVENT is handed to the consumer as soon as its END line is seen, so only one event is
+ * held in memory regardless of the feed size. Other components (VTIMEZONE, VTODO) and
+ * components nested in an event (VALARM) are skipped.
+ */
+public class IcsReader {
+    
+    // Longest unfolded content line accepted; guards memory against a malformed upload
+    public static final int MAX_LINE_LENGTH = 1 << 20;
+    
+    private final BufferedReader reader;
+    private String lookahead;
+    private int lookaheadNumber;
+    // Physical lines read so far, including the lookahead
+    private int lineNumber;
+    // Number of the first physical line of the logical line being parsed
+    private int currentLine;
+    
+    public IcsReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+    
+    /**
+     * Reads the whole stream and passes the properties of every VEVENT, in file order, to
+     * the consumer. Throws IcsParseException on a malformed line.
+     */
+    public void readEvents(Consumer<List<IcsProperty>> consumer) throws IOException {
+        List<IcsProperty> event = null;
+        // Depth of components opened inside the current event, such as VALARM
+        int nested = 0;
+        boolean started = false;
+        String line;
+        while ((line = nextLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            IcsProperty property = parse(line);
+            if (!started) {
+                if (!property.name().equals("BEGIN") || !property.value().equalsIgnoreCase("VCALENDAR")) {
+                    throw new IcsParseException("Not an iCalendar file: expected BEGIN:VCALENDAR on line " + currentLine);
+                }
+                started = true;
+                continue;
+            }
+            if (property.name().equals("BEGIN")) {
+                if (event != null) {
+                    nested++;
+                } else if (property.value().equalsIgnoreCase("VEVENT")) {
+                    event = new ArrayList<>();
+                }
+            } else if (property.name().equals("END")) {
+                if (nested > 0) {
+                    nested--;
+                } else if (event != null && property.value().equalsIgnoreCase("VEVENT")) {
+                    consumer.accept(event);
+                    event = null;
+                }
+            } else if (event != null && nested == 0) {
+                event.add(property);
+            }
+        }
+        if (!started) {
+            throw new IcsParseException("Not an iCalendar file: expected BEGIN:VCALENDAR");
+        }
+    }
+    
+    // Next logical line with continuation lines (leading space or tab) joined on
+    private String nextLine() throws IOException {
+        String line = lookahead != null ? lookahead : readPhysicalLine();
+        currentLine = lookahead != null ? lookaheadNumber : lineNumber;
+        lookahead = null;
+        if (line == null) {
+            return null;
+        }
+        StringBuilder unfolded = null;
+        String next;
+        while ((next = readPhysicalLine()) != null && !next.isEmpty()
+                && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (unfolded == null) {
+                unfolded = new StringBuilder(line);
+            }
+            if (unfolded.length() + next.length() > MAX_LINE_LENGTH) {
+                throw new IcsParseException("Line " + lineNumber + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            unfolded.append(next, 1, next.length());
+        }
+        lookahead = next;
+        lookaheadNumber = lineNumber;
+        return unfolded != null ? unfolded.toString() : line;
+    }
+    
+    private String readPhysicalLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+            if (line.length() > MAX_LINE_LENGTH) {
+                throw new IcsParseException("Line " + lineNumber + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+        }
+        return line;
+    }
+    
+    // name *(";" param "=" value) ":" value, where parameter values may be quoted
+    private IcsProperty parse(String line) {
+        int i = 0;
+        int length = line.length();
+        while (i < length && line.charAt(i) != ';' && line.charAt(i) != ':') {
+            i++;
+        }
+        if (i == length || i == 0) {
+            throw new IcsParseException("Malformed iCalendar line " + currentLine);
+        }
+        String name = line.substring(0, i).toUpperCase(Locale.ROOT);
+        Map<String, String> parameters = new HashMap<>();
+        while (line.charAt(i) == ';') {
+            int nameStart = ++i;
+            while (i < length && line.charAt(i) != '=') {
+                i++;
+            }
+            if (i == length) {
+                throw new IcsParseException("Malformed parameter on iCalendar line " + currentLine);
+            }
+            String parameterName = line.substring(nameStart, i).toUpperCase(Locale.ROOT);
+            StringBuilder parameterValue = new StringBuilder();
+            boolean quoted = false;
+            i++;
+            while (i < length && (quoted || (line.charAt(i) != ';' && line.charAt(i) != ':'))) {
+                char c = line.charAt(i++);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else {
+                    parameterValue.append(c);
+                }
+            }
+            if (i == length) {
+                throw new IcsParseException("Malformed parameter on iCalendar line " + currentLine);
+            }
+            parameters.put(parameterName, parameterValue.toString());
+        }
+        return new IcsProperty(name, parameters, line.substring(i + 1));
+    }
+}
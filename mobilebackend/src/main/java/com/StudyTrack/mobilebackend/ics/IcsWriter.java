@@ -0,0 +1,81 @@
+package com.StudyTrack.mobilebackend.ics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes iCalendar content lines: CRLF line ends, TEXT escaping and folding at 75 octets
+ * without splitting a UTF-8 sequence, as RFC 5545 requires. Nothing is buffered beyond
+ * the underlying writer, so a calendar of any size streams in constant memory.
+ */
+public class IcsWriter {
+    
+    private static final int MAX_LINE_OCTETS = 75;
+    
+    private final Writer writer;
+    
+    public IcsWriter(Writer writer) {
+        this.writer = writer;
+    }
+    
+    // Property whose value is already in iCalendar form (dates, rules, enumerations)
+    public void property(String name, String value) throws IOException {
+        if (value != null) {
+            line(name + ":" + value);
+        }
+    }
+    
+    public void text(String name, String value) throws IOException {
+        if (value != null) {
+            property(name, escape(value));
+        }
+    }
+    
+    public void flush() throws IOException {
+        writer.flush();
+    }
+    
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // \r\n becomes one escaped newline
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+    
+    private void line(String line) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < line.length()) {
+            int codePoint = line.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                // The leading space of a continuation line counts towards its 75 octets
+                octets = 1;
+            }
+            writer.write(line, i, Character.charCount(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+    
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,395 @@
+package com.StudyTrack.mobilebackend.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed set of non-negative long ids in the Roaring layout: ids are split into a
+ * high part (id >>> 16), kept in a sorted key array, and a 16-bit low part stored in a
+ * container per key. Sparse containers are sorted char arrays; once one holds more than
+ * 4096 values it becomes a 1024-word bitmap, which is smaller from that point on.
+ * Intersections and unions walk the key arrays in step and combine containers pairwise,
+ * so their cost follows the number of containers rather than the number of ids.
+ * Not thread-safe; callers synchronize.
+ */
+public class EventIdBitmap {
+    
+    // Largest cardinality kept as an array container; 4096 chars take as much space as a bitmap
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    
+    private long[] keys = new long[4];
+    
+    private Container[] containers = new Container[4];
+    
+    private int size;
+    
+    public boolean add(long id) {
+        long key = id >>> 16;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            insertContainer(-index - 1, key, new ArrayContainer(low));
+            return true;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(low);
+        return containers[index].cardinality() != before;
+    }
+    
+    public boolean remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        container = container.remove((char) id);
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+        return container.cardinality() != before;
+    }
+    
+    public boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+    
+    // Ids in ascending order
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+    
+    public static EventIdBitmap and(EventIdBitmap a, EventIdBitmap b) {
+        EventIdBitmap result = new EventIdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = a.containers[i].and(b.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.insertContainer(result.size, a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    public static EventIdBitmap or(EventIdBitmap a, EventIdBitmap b) {
+        EventIdBitmap result = new EventIdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.insertContainer(result.size, a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.insertContainer(result.size, b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.insertContainer(result.size, a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    private void insertContainer(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+    
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+    
+    /**
+     * Low 16 bits of the ids sharing one key. Mutators return the container to use
+     * afterwards, which is a different type when the cardinality crosses ARRAY_MAX.
+     */
+    private abstract static class Container {
+        
+        abstract int cardinality();
+        
+        abstract boolean contains(char value);
+        
+        abstract Container add(char value);
+        
+        abstract Container remove(char value);
+        
+        abstract Container and(Container other);
+        
+        abstract Container or(Container other);
+        
+        abstract Container copy();
+        
+        abstract void forEach(long base, LongConsumer action);
+    }
+    
+    private static final class ArrayContainer extends Container {
+        
+        private char[] values;
+        private int cardinality;
+        
+        ArrayContainer(char value) {
+            values = new char[4];
+            values[0] = value;
+            cardinality = 1;
+        }
+        
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+        
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, 4), ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+        
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+        
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+        
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(result, count);
+            return count > ARRAY_MAX ? union.toBitmap() : union;
+        }
+        
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+        
+        @Override
+        void forEach(long base, LongConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+        
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+    
+    private static final class BitmapContainer extends Container {
+        
+        private final long[] words;
+        private int cardinality;
+        
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+        
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+        
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+        
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+        
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+        
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer intersection = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX ? intersection.toArray() : intersection;
+        }
+        
+        @Override
+        Container or(Container other) {
+            BitmapContainer union = new BitmapContainer(words.clone(), cardinality);
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    union.set(array.values[i]);
+                }
+            } else {
+                BitmapContainer bitmap = (BitmapContainer) other;
+                int count = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    union.words[i] |= bitmap.words[i];
+                    count += Long.bitCount(union.words[i]);
+                }
+                union.cardinality = count;
+            }
+            return union;
+        }
+        
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+        
+        @Override
+        void forEach(long base, LongConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | ((long) i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+        
+        void set(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+        }
+        
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int[] count = {0};
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
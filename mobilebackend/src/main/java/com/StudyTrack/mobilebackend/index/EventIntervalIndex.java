@@ -0,0 +1,124 @@
+package com.StudyTrack.mobilebackend.index;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user interval trees over event time ranges, used for conflict detection.
+ * A user's tree is built from the database on first use and then kept current from
+ * CalendarEventChangedEvent; idle users are evicted and rebuilt on demand.
+ * Cancelled and postponed events are left out because they cannot conflict, and series
+ * masters because CalendarEventService expands their occurrences for the queried range.
+ */
+@Component
+public class EventIntervalIndex {
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    private final Cache<Long, UserIntervals> users;
+    
+    // Loads read in their own transaction: the caller's snapshot may predate changes
+    // whose events were already applied, and the tree would miss them until evicted
+    private final TransactionTemplate loadTransaction;
+    
+    public EventIntervalIndex(@Value("${events.interval-index.max-users:10000}") long maxUsers,
+                              @Value("${events.interval-index.idle-minutes:60}") long idleMinutes,
+                              PlatformTransactionManager transactionManager) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Ids of the user's events overlapping [start, end] (inclusive, matching
+     * CalendarEvent.isOverlapping), ordered by start time.
+     */
+    public List<Long> findOverlapping(Long userId, LocalDateTime start, LocalDateTime end) {
+        UserIntervals intervals = users.get(userId, this::load);
+        return intervals.query(toKey(start), toKey(end));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(CalendarEventChangedEvent change) {
+        // Only users whose tree is already built need updating; computeIfPresent also
+        // waits for a concurrent load of the same user so the change is never lost
+        users.asMap().computeIfPresent(change.getUserId(), (userId, intervals) -> {
+            if (change.getType() == CalendarEventChangedEvent.ChangeType.DELETED
+                    || change.getAfter().getRecurrenceRule() != null) {
+                intervals.remove(change.getEventId());
+            } else {
+                CalendarEventDto after = change.getAfter();
+                intervals.put(change.getEventId(), after.getStartTime(), after.getEndTime(), after.getStatus());
+            }
+            return intervals;
+        });
+    }
+    
+    private UserIntervals load(Long userId) {
+        return loadTransaction.execute(status -> {
+            UserIntervals intervals = new UserIntervals();
+            for (Object[] row : eventRepository.findTimeRangesByUserId(userId)) {
+                intervals.put((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2], (EventStatus) row[3]);
+            }
+            return intervals;
+        });
+    }
+    
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    private static class UserIntervals {
+        
+        private final IntervalTree tree = new IntervalTree();
+        
+        // Start key per event id, needed to locate an interval when it moves or is removed
+        private final Map<Long, Long> starts = new HashMap<>();
+        
+        synchronized void put(Long eventId, LocalDateTime start, LocalDateTime end, EventStatus status) {
+            remove(eventId);
+            if (status == null || !status.isCancelled()) {
+                long startKey = toKey(start);
+                tree.insert(eventId, startKey, toKey(end));
+                starts.put(eventId, startKey);
+            }
+        }
+        
+        synchronized void remove(Long eventId) {
+            Long startKey = starts.remove(eventId);
+            if (startKey != null) {
+                tree.remove(eventId, startKey);
+            }
+        }
+        
+        synchronized List<Long> query(long from, long to) {
+            List<Long> ids = new ArrayList<>();
+            tree.query(from, to, ids::add);
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.StudyTrack.mobilebackend.index;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Per-user inverted index over event titles, descriptions and assignment subjects and
+ * course codes, so search never scans the description TEXT column. It is rebuilt from
+ * the database once the application is ready and then kept current from
+ * CalendarEventChangedEvent. Query terms match indexed terms by prefix; results are
+ * ranked by a BM25-style score in which title matches weigh most and exact term
+ * matches beat prefix matches.
+ */
+@Component
+public class EventSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+    
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TERM_LENGTH = 32;
+    private static final int MAX_QUERY_TERMS = 10;
+    
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUBJECT_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final double SATURATION = 1.2;
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private volatile Map<Long, UserIndex> users = new ConcurrentHashMap<>();
+    
+    private volatile boolean ready;
+    
+    // Changes committed while a rebuild is reading, replayed onto the new index before it goes live
+    private Map<Long, CalendarEventChangedEvent> pending;
+    
+    private final Object rebuildLock = new Object();
+    
+    /**
+     * Ids of the user's events matching every term of the query, best first. Throws while
+     * the index is still being built at startup.
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        if (!ready) {
+            throw new RuntimeException("Search index is still loading, try again shortly");
+        }
+        // Cut like indexed terms, so a long word still finds the event it was copied from
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(
+                tokenize(query).stream().map(EventSearchIndex::truncate).toList()));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        UserIndex index = users.get(userId);
+        return index == null ? List.of() : index.search(terms, limit);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            pending = new LinkedHashMap<>();
+        }
+        long started = System.currentTimeMillis();
+        Map<Long, UserIndex> rebuilt = new ConcurrentHashMap<>();
+        int[] count = {0};
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = eventRepository.streamSearchFields()) {
+                rows.forEach(row -> {
+                    rebuilt.computeIfAbsent((Long) row[1], userId -> new UserIndex())
+                            .put((Long) row[0], terms((String) row[2], (String) row[3], (String) row[4], (String) row[5]));
+                    count[0]++;
+                });
+            }
+        });
+        synchronized (rebuildLock) {
+            pending.values().forEach(change -> apply(rebuilt, change));
+            pending = null;
+            users = rebuilt;
+            ready = true;
+        }
+        logger.info("Search index built: {} events for {} users in {} ms",
+                count[0], rebuilt.size(), System.currentTimeMillis() - started);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(CalendarEventChangedEvent change) {
+        synchronized (rebuildLock) {
+            if (pending != null) {
+                // Last change per event wins, matching what the database holds after commit
+                pending.remove(change.getEventId());
+                pending.put(change.getEventId(), change);
+            }
+            apply(users, change);
+        }
+    }
+    
+    private static void apply(Map<Long, UserIndex> target, CalendarEventChangedEvent change) {
+        if (change.getType() == CalendarEventChangedEvent.ChangeType.DELETED) {
+            UserIndex index = target.get(change.getUserId());
+            if (index != null) {
+                index.remove(change.getEventId());
+            }
+        } else {
+            CalendarEventDto after = change.getAfter();
+            target.computeIfAbsent(change.getUserId(), userId -> new UserIndex())
+                    .put(change.getEventId(), terms(after.getTitle(), after.getDescription(),
+                            after.getSubject(), after.getCourseCode()));
+        }
+    }
+    
+    private static Map<String, Integer> terms(String title, String description, String subject, String courseCode) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, title, TITLE_WEIGHT);
+        addTerms(terms, subject, SUBJECT_WEIGHT);
+        addTerms(terms, courseCode, SUBJECT_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        // "CS-101" is also findable as "cs101"
+        List<String> codeParts = tokenize(courseCode);
+        if (codeParts.size() > 1) {
+            addTerm(terms, String.join("", codeParts), SUBJECT_WEIGHT);
+        }
+        return terms;
+    }
+    
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            addTerm(terms, term, weight);
+        }
+    }
+    
+    private static void addTerm(Map<String, Integer> terms, String term, int weight) {
+        terms.merge(truncate(term), weight, Integer::sum);
+    }
+    
+    private static String truncate(String term) {
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+    
+    /**
+     * Lower-cased terms with diacritics removed, split on anything that is not a letter
+     * or digit. Queries and documents go through the same function.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+    
+    private static class UserIndex {
+        
+        // Term -> (event id -> weighted term frequency), sorted so prefixes are a range scan
+        private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        
+        // Terms per event id, needed to unlink an event when it changes or is removed
+        private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+        
+        synchronized void put(Long eventId, Map<String, Integer> terms) {
+            remove(eventId);
+            documents.put(eventId, terms);
+            terms.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(eventId, frequency));
+        }
+        
+        synchronized void remove(Long eventId) {
+            Map<String, Integer> terms = documents.remove(eventId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Integer> events = postings.get(term);
+                events.remove(eventId);
+                if (events.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        
+        synchronized List<Long> search(List<String> queryTerms, int limit) {
+            int documentCount = documents.size();
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> previous = scores;
+                // Best match per event for this query term, so a short prefix matching
+                // many terms of one event does not outweigh the other query terms
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> entry
+                        : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    Map<Long, Integer> events = entry.getValue();
+                    double idf = Math.log(1 + (double) documentCount / events.size());
+                    double factor = entry.getKey().equals(queryTerm) ? 1 : PREFIX_FACTOR;
+                    events.forEach((eventId, frequency) -> {
+                        if (previous == null || previous.containsKey(eventId)) {
+                            double score = factor * idf * frequency / (frequency + SATURATION);
+                            termScores.merge(eventId, score, Math::max);
+                        }
+                    });
+                }
+                if (previous != null) {
+                    termScores.replaceAll((eventId, score) -> score + previous.get(eventId));
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            
+            // Top results by score, newer (higher) ids first on ties
+            Comparator<Map.Entry<Long, Double>> order = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(order);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.add(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Long> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ids.add(top.poll().getKey());
+            }
+            return ids.reversed();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.StudyTrack.mobilebackend.index;
+
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user compressed bitmaps of event ids, one per tag, for filtering by several tags
+ * without one join per tag. A user's bitmaps are built from the join table on first use
+ * and then kept current from CalendarEventChangedEvent; idle users are evicted and
+ * rebuilt on demand. A change whose snapshot has no tag ids did not touch the tags.
+ */
+@Component
+public class EventTagIndex {
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    private final Cache<Long, UserTags> users;
+    
+    // Fresh snapshot per load, for the reason given in EventIntervalIndex
+    private final TransactionTemplate loadTransaction;
+    
+    public EventTagIndex(@Value("${events.tag-index.max-users:10000}") long maxUsers,
+                         @Value("${events.tag-index.idle-minutes:60}") long idleMinutes,
+                         PlatformTransactionManager transactionManager) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Ids of the user's events carrying all (or, with matchAll false, any) of the tags,
+     * in ascending order.
+     */
+    public List<Long> find(Long userId, Collection<Long> tagIds, boolean matchAll) {
+        UserTags tags = users.get(userId, this::load);
+        return tags.query(tagIds, matchAll);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(CalendarEventChangedEvent change) {
+        // Same as EventIntervalIndex: only built users are updated, and a concurrent load is waited for
+        users.asMap().computeIfPresent(change.getUserId(), (userId, tags) -> {
+            if (change.getType() == CalendarEventChangedEvent.ChangeType.DELETED) {
+                tags.remove(change.getEventId());
+            } else if (change.getAfter().getTagIds() != null) {
+                tags.put(change.getEventId(), change.getAfter().getTagIds());
+            }
+            return tags;
+        });
+    }
+    
+    private UserTags load(Long userId) {
+        return loadTransaction.execute(status -> {
+            UserTags tags = new UserTags();
+            for (Object[] row : eventRepository.findTagIdPairsByUserId(userId)) {
+                tags.add((Long) row[0], (Long) row[1]);
+            }
+            return tags;
+        });
+    }
+    
+    private static class UserTags {
+        
+        private final Map<Long, EventIdBitmap> eventsByTag = new HashMap<>();
+        
+        // Tag ids per event id, needed to clear an event's bits when its tags change
+        private final Map<Long, List<Long>> tagsByEvent = new HashMap<>();
+        
+        synchronized void put(Long eventId, Collection<Long> tagIds) {
+            remove(eventId);
+            for (Long tagId : tagIds) {
+                add(eventId, tagId);
+            }
+        }
+        
+        synchronized void add(Long eventId, Long tagId) {
+            if (eventsByTag.computeIfAbsent(tagId, id -> new EventIdBitmap()).add(eventId)) {
+                tagsByEvent.computeIfAbsent(eventId, id -> new ArrayList<>(2)).add(tagId);
+            }
+        }
+        
+        synchronized void remove(Long eventId) {
+            List<Long> tagIds = tagsByEvent.remove(eventId);
+            if (tagIds == null) {
+                return;
+            }
+            for (Long tagId : tagIds) {
+                EventIdBitmap events = eventsByTag.get(tagId);
+                events.remove(eventId);
+                if (events.isEmpty()) {
+                    eventsByTag.remove(tagId);
+                }
+            }
+        }
+        
+        synchronized List<Long> query(Collection<Long> tagIds, boolean matchAll) {
+            List<EventIdBitmap> bitmaps = new ArrayList<>();
+            for (Long tagId : tagIds) {
+                EventIdBitmap events = eventsByTag.get(tagId);
+                if (events != null) {
+                    bitmaps.add(events);
+                } else if (matchAll) {
+                    return List.of();
+                }
+            }
+            if (bitmaps.isEmpty()) {
+                return List.of();
+            }
+            EventIdBitmap result;
+            if (matchAll) {
+                // Smallest first keeps every intermediate result small
+                bitmaps.sort(Comparator.comparingLong(EventIdBitmap::cardinality));
+                result = bitmaps.get(0);
+                for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                    result = EventIdBitmap.and(result, bitmaps.get(i));
+                }
+            } else {
+                result = bitmaps.get(0);
+                for (int i = 1; i < bitmaps.size(); i++) {
+                    result = EventIdBitmap.or(result, bitmaps.get(i));
+                }
+            }
+            List<Long> ids = new ArrayList<>((int) result.cardinality());
+            result.forEach(ids::add);
+            return ids;
+        }
+    }
+}
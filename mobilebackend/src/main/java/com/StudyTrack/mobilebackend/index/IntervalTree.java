@@ -0,0 +1,129 @@
+package com.StudyTrack.mobilebackend.index;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Augmented interval tree over closed intervals [start, end] identified by a long id.
+ * Implemented as a treap ordered by (start, id) where every node also keeps the largest
+ * end in its subtree, so overlap queries visit O(log n + k) nodes in expectation.
+ * Not thread-safe; callers synchronize.
+ */
+public class IntervalTree {
+    
+    private static final class Node {
+        final long start;
+        final long end;
+        final long id;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+        
+        Node(long start, long end, long id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+    
+    private final SplittableRandom random = new SplittableRandom();
+    
+    private Node root;
+    
+    private int size;
+    
+    public int size() {
+        return size;
+    }
+    
+    public void insert(long id, long start, long end) {
+        Node[] parts = split(root, start, id);
+        root = merge(merge(parts[0], new Node(start, end, id, random.nextInt())), parts[1]);
+        size++;
+    }
+    
+    // The interval is located by its (start, id) key
+    public boolean remove(long id, long start) {
+        Node[] lower = split(root, start, id);
+        Node[] upper = split(lower[1], start, id + 1);
+        boolean removed = upper[0] != null;
+        if (removed) {
+            size--;
+        }
+        root = merge(lower[0], upper[1]);
+        return removed;
+    }
+    
+    /**
+     * Reports the id of every interval overlapping [from, to], inclusive on both ends
+     * like CalendarEvent.isOverlapping, in ascending start order.
+     */
+    public void query(long from, long to, LongConsumer consumer) {
+        query(root, from, to, consumer);
+    }
+    
+    private static void query(Node node, long from, long to, LongConsumer consumer) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        query(node.left, from, to, consumer);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            consumer.accept(node.id);
+        }
+        query(node.right, from, to, consumer);
+    }
+    
+    // Splits into keys below (start, id) and keys at or above it
+    private static Node[] split(Node node, long start, long id) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.start < start || (node.start == start && node.id < id)) {
+            Node[] parts = split(node.right, start, id);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, start, id);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+    
+    // Every key in a must be below every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+    
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+}
@@ -0,0 +1,326 @@
+package com.StudyTrack.mobilebackend.recurrence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Subset of the iCalendar RRULE grammar (RFC 5545): FREQ=DAILY|WEEKLY|MONTHLY|YEARLY with
+ * INTERVAL, COUNT or UNTIL, and BYDAY=MO,TU,... for weekly rules. Weeks start on Monday.
+ * Monthly and yearly rules repeat on the day of the first occurrence and skip months or
+ * years that lack it (the 31st, February 29th), as the RFC requires.
+ * <p>
+ * Occurrences are computed on the fly for a requested window. Daily and weekly rules jump
+ * straight to the window by arithmetic, so the cost depends on the window rather than on
+ * how long the series has been running, and the only objects created are the emitted
+ * start times. Times are local, like every other time in the calendar; a trailing Z on
+ * UNTIL is accepted and ignored.
+ */
+public final class RecurrenceRule {
+    
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY
+    }
+    
+    // Keeps upperBound() and validation cheap for counted series
+    public static final int MAX_COUNT = 10_000;
+    
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    
+    private final Frequency frequency;
+    private final int interval;
+    // Zero when the series is not limited by a count
+    private final int count;
+    // Null when the series is not limited by a date; inclusive
+    private final LocalDateTime until;
+    // Bit n stands for DayOfWeek.of(n + 1); zero means the weekday of the first occurrence
+    private final int byDayMask;
+    
+    private RecurrenceRule(Frequency frequency, int interval, int count, LocalDateTime until, int byDayMask) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDayMask = byDayMask;
+    }
+    
+    /**
+     * Parses a rule such as {@code FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20261218T235959}; an
+     * optional {@code RRULE:} prefix is allowed. Unsupported parts are rejected rather than
+     * ignored so that a series never silently expands differently from what was entered.
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new RuntimeException("Recurrence rule is empty");
+        }
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+        
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        int byDayMask = 0;
+        for (String part : text.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator <= 0) {
+                throw invalid(rule, "expected NAME=VALUE but got '" + part + "'");
+            }
+            String name = part.substring(0, separator).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(separator + 1).trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    case "UNTIL" -> until = parseUntil(value);
+                    case "BYDAY" -> byDayMask = parseByDay(rule, value);
+                    case "WKST" -> {
+                        if (!"MO".equals(value)) {
+                            throw invalid(rule, "only WKST=MO is supported");
+                        }
+                    }
+                    default -> throw invalid(rule, name + " is not supported");
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw invalid(rule, "invalid value for " + name);
+            }
+        }
+        
+        if (frequency == null) {
+            throw invalid(rule, "FREQ is required");
+        }
+        if (interval < 1) {
+            throw invalid(rule, "INTERVAL must be at least 1");
+        }
+        if (count != null && (count < 1 || count > MAX_COUNT)) {
+            throw invalid(rule, "COUNT must be between 1 and " + MAX_COUNT);
+        }
+        if (count != null && until != null) {
+            throw invalid(rule, "COUNT and UNTIL cannot be combined");
+        }
+        if (byDayMask != 0 && frequency != Frequency.WEEKLY) {
+            throw invalid(rule, "BYDAY is only supported with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, count != null ? count : 0, until, byDayMask);
+    }
+    
+    public Frequency getFrequency() {
+        return frequency;
+    }
+    
+    public int getInterval() {
+        return interval;
+    }
+    
+    public boolean isBounded() {
+        return count > 0 || until != null;
+    }
+    
+    /**
+     * Passes to {@code sink}, in order, the start of every occurrence of a series whose
+     * first occurrence starts at {@code first} that starts within [from, to).
+     */
+    public void expand(LocalDateTime first, LocalDateTime from, LocalDateTime to, Consumer<LocalDateTime> sink) {
+        if (!to.isAfter(from)) {
+            return;
+        }
+        Expansion expansion = new Expansion(first, from, to, sink);
+        switch (frequency) {
+            case DAILY -> expandDaily(expansion);
+            case WEEKLY -> expandWeekly(expansion);
+            case MONTHLY -> expandMonthly(expansion);
+            case YEARLY -> expandYearly(expansion);
+        }
+    }
+    
+    /**
+     * No occurrence starts after the returned time; null when the series never ends.
+     * Used to find series that can reach into a window without expanding them.
+     */
+    public LocalDateTime upperBound(LocalDateTime first) {
+        if (until != null) {
+            return until;
+        }
+        if (count == 0) {
+            return null;
+        }
+        LocalDateTime[] last = {first};
+        expand(first, first, LocalDateTime.MAX, start -> last[0] = start);
+        return last[0];
+    }
+    
+    private void expandDaily(Expansion expansion) {
+        long period = Math.max(0, Math.floorDiv(expansion.fromDay - expansion.firstDay, interval));
+        // One occurrence per period, so the ordinal of the first one visited is the period itself
+        expansion.ordinal = period;
+        while (expansion.offer(expansion.firstDay + period * interval)) {
+            period++;
+        }
+    }
+    
+    private void expandWeekly(Expansion expansion) {
+        int firstWeekday = (int) Math.floorMod(expansion.firstDay + 3, 7L);  // 0 = Monday; epoch day 0 was a Thursday
+        int mask = byDayMask != 0 ? byDayMask : 1 << firstWeekday;
+        int perWeek = Integer.bitCount(mask);
+        // Occurrences in the first week only count from the first occurrence's weekday on
+        int firstWeekCount = Integer.bitCount(mask >>> firstWeekday);
+        long firstMonday = expansion.firstDay - firstWeekday;
+        long periodDays = 7L * interval;
+        
+        long period = Math.max(0, Math.floorDiv(expansion.fromDay - firstMonday, periodDays));
+        expansion.ordinal = period == 0 ? 0 : firstWeekCount + (period - 1) * perWeek;
+        for (; ; period++) {
+            long monday = firstMonday + period * periodDays;
+            for (int weekday = 0; weekday < 7; weekday++) {
+                if ((mask & (1 << weekday)) == 0 || monday + weekday < expansion.firstDay) {
+                    continue;
+                }
+                if (!expansion.offer(monday + weekday)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void expandMonthly(Expansion expansion) {
+        LocalDate first = LocalDate.ofEpochDay(expansion.firstDay);
+        int dayOfMonth = first.getDayOfMonth();
+        long firstMonth = first.getYear() * 12L + first.getMonthValue() - 1;
+        
+        long period = 0;
+        if (count == 0) {
+            // Without a count nothing before the window matters; start one period early for safety
+            LocalDate from = LocalDate.ofEpochDay(expansion.fromDay);
+            long fromMonth = from.getYear() * 12L + from.getMonthValue() - 1;
+            period = Math.max(0, (fromMonth - firstMonth) / interval - 1);
+        }
+        for (; ; period++) {
+            long month = firstMonth + period * interval;
+            int year = (int) Math.floorDiv(month, 12L);
+            int monthValue = (int) Math.floorMod(month, 12L) + 1;
+            if (dayOfMonth > Month.of(monthValue).length(Year.isLeap(year))) {
+                continue;
+            }
+            if (!expansion.offer(LocalDate.of(year, monthValue, dayOfMonth).toEpochDay())) {
+                return;
+            }
+        }
+    }
+    
+    private void expandYearly(Expansion expansion) {
+        LocalDate first = LocalDate.ofEpochDay(expansion.firstDay);
+        int year = first.getYear();
+        if (count == 0) {
+            int fromYear = LocalDate.ofEpochDay(expansion.fromDay).getYear();
+            year += Math.max(0, (fromYear - year) / interval - 1) * interval;
+        }
+        for (; ; year += interval) {
+            if (first.getMonth() == Month.FEBRUARY && first.getDayOfMonth() == 29 && !Year.isLeap(year)) {
+                continue;
+            }
+            if (!expansion.offer(LocalDate.of(year, first.getMonth(), first.getDayOfMonth()).toEpochDay())) {
+                return;
+            }
+        }
+    }
+    
+    private static LocalDateTime parseUntil(String value) {
+        String text = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        if (text.length() == 8) {
+            // A date-only UNTIL includes that whole day
+            return LocalDate.parse(text, DateTimeFormatter.BASIC_ISO_DATE).atTime(LocalTime.MAX);
+        }
+        return LocalDateTime.parse(text, UNTIL_DATE_TIME);
+    }
+    
+    private static int parseByDay(String rule, String value) {
+        int mask = 0;
+        for (String code : value.split(",")) {
+            int day = -1;
+            for (int i = 0; i < DAY_CODES.length; i++) {
+                if (DAY_CODES[i].equals(code.trim())) {
+                    day = i;
+                }
+            }
+            if (day < 0) {
+                throw invalid(rule, "BYDAY supports plain weekday codes only");
+            }
+            mask |= 1 << day;
+        }
+        return mask;
+    }
+    
+    private static RuntimeException invalid(String rule, String reason) {
+        return new RuntimeException("Invalid recurrence rule '" + rule + "': " + reason);
+    }
+    
+    /**
+     * State of one expansion. Candidate days are offered in order as epoch days; all
+     * occurrences share the time of day of the first one, so comparisons are on
+     * (epoch day, nano of day) pairs and a LocalDateTime is only built for emitted starts.
+     */
+    private final class Expansion {
+        
+        final long firstDay;
+        final LocalTime time;
+        final long timeNanos;
+        final long fromDay;
+        final long fromNanos;
+        final long toDay;
+        final long toNanos;
+        final long untilDay;
+        final long untilNanos;
+        final Consumer<LocalDateTime> sink;
+        // Number of occurrences before the next candidate, for COUNT
+        long ordinal;
+        
+        Expansion(LocalDateTime first, LocalDateTime from, LocalDateTime to, Consumer<LocalDateTime> sink) {
+            this.firstDay = first.toLocalDate().toEpochDay();
+            this.time = first.toLocalTime();
+            this.timeNanos = time.toNanoOfDay();
+            this.fromDay = from.toLocalDate().toEpochDay();
+            this.fromNanos = from.toLocalTime().toNanoOfDay();
+            this.toDay = to.toLocalDate().toEpochDay();
+            this.toNanos = to.toLocalTime().toNanoOfDay();
+            this.untilDay = until != null ? until.toLocalDate().toEpochDay() : Long.MAX_VALUE;
+            this.untilNanos = until != null ? until.toLocalTime().toNanoOfDay() : Long.MAX_VALUE;
+            this.sink = sink;
+        }
+        
+        // Returns false once the series or the window is exhausted
+        boolean offer(long day) {
+            if (count > 0 && ordinal >= count) {
+                return false;
+            }
+            if (compare(day, untilDay, untilNanos) > 0 || compare(day, toDay, toNanos) >= 0) {
+                return false;
+            }
+            ordinal++;
+            if (compare(day, fromDay, fromNanos) >= 0) {
+                sink.accept(LocalDateTime.of(LocalDate.ofEpochDay(day), time));
+            }
+            return true;
+        }
+        
+        private int compare(long day, long otherDay, long otherNanos) {
+            if (day != otherDay) {
+                return day < otherDay ? -1 : 1;
+            }
+            return Long.compare(timeNanos, otherNanos);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.StudyTrack.mobilebackend.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Default notifier until a delivery channel exists
+public class LoggingReminderNotifier implements ReminderNotifier {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoggingReminderNotifier.class);
+    
+    @Override
+    public void notify(Reminder reminder) {
+        logger.info("Reminder for user {}: '{}' is due at {} (in {} minutes)",
+                reminder.userId(), reminder.title(), reminder.dueTime(), reminder.offset().toMinutes());
+    }
+}
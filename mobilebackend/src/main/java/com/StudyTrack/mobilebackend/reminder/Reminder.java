@@ -0,0 +1,12 @@
+package com.StudyTrack.mobilebackend.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A reminder that is due: {@code offset} before {@code dueTime}, which is the start of a
+ * general event or the deadline (end) of an assignment.
+ */
+public record Reminder(Long eventId, Long userId, String title, String eventType,
+                       LocalDateTime dueTime, Duration offset, LocalDateTime fireAt) {
+}
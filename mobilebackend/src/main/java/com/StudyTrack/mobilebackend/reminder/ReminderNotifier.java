@@ -0,0 +1,11 @@
+package com.StudyTrack.mobilebackend.reminder;
+
+/**
+ * Delivers reminders, e.g. as push notifications. Called on the scheduler's tick thread,
+ * so implementations should hand slow work off rather than block. Declare a bean of this
+ * type to replace the default LoggingReminderNotifier.
+ */
+public interface ReminderNotifier {
+    
+    void notify(Reminder reminder);
+}
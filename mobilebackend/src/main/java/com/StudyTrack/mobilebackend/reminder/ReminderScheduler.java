@@ -0,0 +1,259 @@
+package com.StudyTrack.mobilebackend.reminder;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires reminders {@code reminders.offsets-minutes} before each general event starts and
+ * each assignment is due. Reminders that fire within the next {@code reminders.window-hours}
+ * live in a hierarchical timing wheel advanced by a single tick thread; the window is
+ * loaded from the database at startup and extended every {@code reminders.refresh-interval-ms},
+ * and CalendarEventChangedEvent reschedules an event's reminders after each write. Both
+ * scheduling and cancelling are O(1), so the cost per tick depends on the reminders that
+ * are due, not on how many are pending. Series occurrences and cancelled or postponed
+ * events get no reminders; reminders that fell due while the application was down are
+ * not sent.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+    
+    private static final List<EventStatus> CANCELLED_STATUSES = Arrays.stream(EventStatus.values())
+            .filter(EventStatus::isCancelled)
+            .toList();
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private ReminderNotifier notifier;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    private final List<Duration> offsets;
+    private final Duration minOffset;
+    private final Duration maxOffset;
+    private final Duration window;
+    private final long tickMillis;
+    private final Counter fired;
+    private final Counter failed;
+    
+    private volatile TimingWheel<Reminder> wheel;
+    // Pending timeouts per event id, so a change can cancel them
+    private final Map<Long, List<TimingWheel.Timeout<Reminder>>> byEvent = new HashMap<>();
+    // Reminders firing before this time are in the wheel or being loaded into it
+    private LocalDateTime horizon;
+    // Events changed while a load is reading; their rows from that read are stale
+    private Set<Long> touchedDuringLoad;
+    
+    private final Object loadLock = new Object();
+    private ScheduledExecutorService ticker;
+    
+    public ReminderScheduler(@Value("${reminders.offsets-minutes:1440,60,10}") long[] offsetMinutes,
+                             @Value("${reminders.window-hours:48}") long windowHours,
+                             @Value("${reminders.tick-millis:1000}") long tickMillis,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        if (offsetMinutes.length == 0) {
+            throw new IllegalArgumentException("reminders.offsets-minutes must not be empty");
+        }
+        this.offsets = Arrays.stream(offsetMinutes).distinct().sorted().mapToObj(Duration::ofMinutes).toList();
+        this.minOffset = offsets.get(0);
+        this.maxOffset = offsets.get(offsets.size() - 1);
+        this.window = Duration.ofHours(windowHours);
+        this.tickMillis = tickMillis;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fired = Counter.builder("reminders.fired").register(meterRegistry);
+        this.failed = Counter.builder("reminders.failed").register(meterRegistry);
+        Gauge.builder("reminders.pending", this, ReminderScheduler::pendingCount).register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            wheel = new TimingWheel<>(toTick(now) - 1);
+            horizon = now;
+        }
+        loadUntil(now.plus(window));
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${reminders.refresh-interval-ms:900000}",
+               initialDelayString = "${reminders.refresh-interval-ms:900000}")
+    public void refresh() {
+        if (wheel != null) {
+            loadUntil(LocalDateTime.now().plus(window));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventChanged(CalendarEventChangedEvent change) {
+        if (wheel == null) {
+            // Not started yet; the initial load reads the committed row
+            return;
+        }
+        Long eventId = change.getEventId();
+        if (touchedDuringLoad != null) {
+            touchedDuringLoad.add(eventId);
+        }
+        List<TimingWheel.Timeout<Reminder>> pending = byEvent.remove(eventId);
+        if (pending != null) {
+            pending.forEach(wheel::cancel);
+        }
+        CalendarEventDto after = change.getAfter();
+        if (change.getType() == CalendarEventChangedEvent.ChangeType.DELETED || after.getRecurrenceRule() != null
+                || (after.getStatus() != null && after.getStatus().isCancelled())) {
+            return;
+        }
+        boolean assignment = "ASSIGNMENT".equals(after.getEventType());
+        LocalDateTime due = assignment ? after.getEndTime() : after.getStartTime();
+        LocalDateTime now = LocalDateTime.now();
+        for (Duration offset : offsets) {
+            LocalDateTime fireAt = due.minus(offset);
+            if (!fireAt.isBefore(now) && fireAt.isBefore(horizon)) {
+                schedule(new Reminder(eventId, change.getUserId(), after.getTitle(), after.getEventType(),
+                        due, offset, fireAt));
+            }
+        }
+    }
+    
+    public synchronized int pendingCount() {
+        return wheel != null ? wheel.size() : 0;
+    }
+    
+    // Loads the reminders that fire in [current horizon, newHorizon) and moves the horizon
+    private void loadUntil(LocalDateTime newHorizon) {
+        synchronized (loadLock) {
+            LocalDateTime from;
+            synchronized (this) {
+                if (!newHorizon.isAfter(horizon)) {
+                    return;
+                }
+                from = horizon;
+                horizon = newHorizon;
+                touchedDuringLoad = new HashSet<>();
+            }
+            long started = System.currentTimeMillis();
+            int[] loaded = {0};
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    LocalDateTime dueFrom = from.plus(minOffset);
+                    LocalDateTime dueTo = newHorizon.plus(maxOffset);
+                    try (Stream<Object[]> rows = eventRepository.streamEventsStartingBetween(dueFrom, dueTo, CANCELLED_STATUSES)) {
+                        rows.forEach(row -> loaded[0] += scheduleLoaded(row, "GENERAL", from, newHorizon));
+                    }
+                    try (Stream<Object[]> rows = eventRepository.streamAssignmentsDueBetween(dueFrom, dueTo, CANCELLED_STATUSES)) {
+                        rows.forEach(row -> loaded[0] += scheduleLoaded(row, "ASSIGNMENT", from, newHorizon));
+                    }
+                });
+            } finally {
+                synchronized (this) {
+                    touchedDuringLoad = null;
+                }
+            }
+            logger.info("Loaded {} reminders up to {} in {} ms", loaded[0], newHorizon, System.currentTimeMillis() - started);
+        }
+    }
+    
+    // Row is (id, userId, title, due time)
+    private synchronized int scheduleLoaded(Object[] row, String eventType, LocalDateTime from, LocalDateTime to) {
+        Long eventId = (Long) row[0];
+        if (touchedDuringLoad.contains(eventId)) {
+            return 0;
+        }
+        LocalDateTime due = (LocalDateTime) row[3];
+        int count = 0;
+        for (Duration offset : offsets) {
+            LocalDateTime fireAt = due.minus(offset);
+            if (!fireAt.isBefore(from) && fireAt.isBefore(to)) {
+                schedule(new Reminder(eventId, (Long) row[1], (String) row[2], eventType, due, offset, fireAt));
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private void schedule(Reminder reminder) {
+        TimingWheel.Timeout<Reminder> timeout = wheel.schedule(toTick(reminder.fireAt()), reminder);
+        byEvent.computeIfAbsent(reminder.eventId(), id -> new ArrayList<>(offsets.size())).add(timeout);
+    }
+    
+    private void tick() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(toTick(LocalDateTime.now()), due::add);
+            for (Reminder reminder : due) {
+                List<TimingWheel.Timeout<Reminder>> pending = byEvent.get(reminder.eventId());
+                if (pending != null) {
+                    pending.removeIf(timeout -> timeout.value() == reminder);
+                    if (pending.isEmpty()) {
+                        byEvent.remove(reminder.eventId());
+                    }
+                }
+            }
+        }
+        for (Reminder reminder : due) {
+            try {
+                notifier.notify(reminder);
+                fired.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.warn("Reminder for event {} could not be delivered", reminder.eventId(), e);
+            }
+        }
+    }
+    
+    // Rounded up so that a reminder never fires early
+    private long toTick(LocalDateTime time) {
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+}
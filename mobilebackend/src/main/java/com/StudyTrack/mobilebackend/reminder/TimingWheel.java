@@ -0,0 +1,157 @@
+package com.StudyTrack.mobilebackend.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) over integer ticks. Each of the
+ * {@value #LEVELS} levels has 64 slots and covers 64 times the span of the level below.
+ * Scheduling and cancelling are O(1): a timeout is linked into the slot chosen by the
+ * highest 6-bit digit in which its deadline differs from the current tick, and is moved
+ * down a level each time the wheel below wraps. Deadlines up to 2^36 - 1 ticks ahead are
+ * accepted; one that lies past the next multiple of 2^36 differs from the current tick
+ * above the top level and waits in an overflow list until the wheel reaches that boundary.
+ * Not thread-safe; callers synchronize.
+ */
+public final class TimingWheel<T> {
+    
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    public static final int LEVELS = 6;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+    
+    // Sentinel heads of circular doubly linked lists, [level][slot]
+    private final Timeout<T>[][] slots;
+    // Timeouts due in the next 2^36-tick block, re-placed when the wheel enters it
+    private final Timeout<T> overflow;
+    private long currentTick;
+    private int size;
+    
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.slots = new Timeout[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots[level][slot] = emptyList();
+            }
+        }
+        this.overflow = emptyList();
+    }
+    
+    private static <T> Timeout<T> emptyList() {
+        Timeout<T> head = new Timeout<>(0, null);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+    
+    public long currentTick() {
+        return currentTick;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Schedules the value to expire at the given tick; a tick that is not in the future
+     * expires on the next advance.
+     */
+    public Timeout<T> schedule(long deadline, T value) {
+        long effective = Math.max(deadline, currentTick + 1);
+        if (effective - currentTick >= SPAN) {
+            throw new IllegalArgumentException("Deadline is too far ahead of the wheel: " + deadline);
+        }
+        Timeout<T> timeout = new Timeout<>(effective, value);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+    
+    // Returns false if the timeout already expired or was cancelled
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+    
+    /**
+     * Moves the wheel forward to the given tick, passing every value whose deadline is
+     * reached to the consumer in deadline order.
+     */
+    public void advance(long toTick, Consumer<T> expired) {
+        while (currentTick < toTick) {
+            long tick = ++currentTick;
+            if ((tick & (SPAN - 1)) == 0) {
+                cascade(overflow);
+            }
+            // Cascade from the highest level whose lower digits just wrapped to zero
+            int level = 0;
+            while (level + 1 < LEVELS && (tick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+                level++;
+            }
+            for (; level > 0; level--) {
+                cascade(slots[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)]);
+            }
+            Timeout<T> head = slots[0][(int) (tick & SLOT_MASK)];
+            while (head.next != head) {
+                Timeout<T> timeout = head.next;
+                unlink(timeout);
+                size--;
+                expired.accept(timeout.value);
+            }
+        }
+    }
+    
+    private void cascade(Timeout<T> head) {
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+    
+    private void place(Timeout<T> timeout) {
+        long diff = timeout.deadline ^ currentTick;
+        int level = diff == 0 ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+        Timeout<T> head = level >= LEVELS
+                ? overflow
+                : slots[level][(int) ((timeout.deadline >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+    
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+    
+    public static final class Timeout<T> {
+        
+        private final long deadline;
+        private final T value;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        
+        private Timeout(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+        
+        public long deadline() {
+            return deadline;
+        }
+        
+        public T value() {
+            return value;
+        }
+    }
+}
@@ -1,12 +1,205 @@
 package com.StudyTrack.mobilebackend.repository;
 
 import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
 import com.StudyTrack.mobilebackend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
+public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long>, JpaSpecificationExecutor<CalendarEvent> {
+    int EXPORT_FETCH_SIZE = 500;
+    
     List<CalendarEvent> findByUser(User user);
+    
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.username = :username ORDER BY e.startTime")
+    List<CalendarEvent> findByUsername(@Param("username") String username);
+    
+    // Range scan on (user_id, start_time); the user is resolved by username in the same query.
+    // Series masters are left out here and below: their occurrences are expanded by the service
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.username = :username " +
+           "AND e.startTime >= :from AND e.startTime < :to AND e.recurrenceRule IS NULL ORDER BY e.startTime")
+    List<CalendarEvent> findByUsernameAndStartTimeBetween(@Param("username") String username,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+    
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.username = :username " +
+           "AND e.startTime > :after AND e.recurrenceRule IS NULL ORDER BY e.startTime")
+    List<CalendarEvent> findByUsernameAndStartTimeAfter(@Param("username") String username,
+                                                        @Param("after") LocalDateTime after);
+    
+    // Series masters that can have an occurrence starting in [from, to)
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.username = :username AND e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :to AND (e.recurrenceUntil IS NULL OR e.recurrenceUntil >= :from)")
+    List<CalendarEvent> findSeriesByUsernameInWindow(@Param("username") String username,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+    
+    // (seriesId, originalStartTime) of overriding events whose original occurrence starts in [from, to)
+    @Query("SELECT e.seriesId, e.originalStartTime FROM CalendarEvent e WHERE e.seriesId IN :seriesIds " +
+           "AND e.originalStartTime >= :from AND e.originalStartTime < :to")
+    List<Object[]> findOverriddenStarts(@Param("seriesIds") Collection<Long> seriesIds,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+    
+    List<CalendarEvent> findBySeriesId(Long seriesId);
+    
+    // Cursor over all of a user's events; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.username = :username ORDER BY e.startTime, e.id")
+    Stream<CalendarEvent> streamByUsername(@Param("username") String username);
+    
+    // (id, userId, title, description, subject, courseCode) of every event, for building the search index;
+    // must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id, e.user.id, e.title, e.description, TREAT(e AS AssignmentEvent).subject, " +
+           "TREAT(e AS AssignmentEvent).courseCode FROM CalendarEvent e")
+    Stream<Object[]> streamSearchFields();
+    
+    // (eventId, tagId) pairs for a batch of events, so tags never load one event at a time
+    @Query("SELECT e.id, t.id FROM CalendarEvent e JOIN e.tags t WHERE e.id IN :eventIds")
+    List<Object[]> findTagIdPairsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+    
+    // (eventId, tagId) pairs of all of the user's events, for the tag index
+    @Query("SELECT e.id, t.id FROM CalendarEvent e JOIN e.tags t WHERE e.user.id = :userId")
+    List<Object[]> findTagIdPairsByUserId(@Param("userId") Long userId);
+    
+    // (eventId, exceptionDate) pairs for a batch of series masters
+    @Query("SELECT e.id, x FROM CalendarEvent e JOIN e.exceptionDates x WHERE e.id IN :eventIds")
+    List<Object[]> findExceptionDatePairsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+    
+    // Keyset scan on (user_id, updated_at) for delta sync, bounded above by the settled watermark
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.id = :userId " +
+           "AND (e.updatedAt > :since OR (e.updatedAt = :since AND e.id > :afterId)) " +
+           "AND e.updatedAt <= :until ORDER BY e.updatedAt, e.id")
+    List<CalendarEvent> findChangedSince(@Param("userId") Long userId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("afterId") long afterId,
+                                         @Param("until") LocalDateTime until,
+                                         Pageable pageable);
+    
+    // Calendar version of the event's owner, read without loading the event
+    @Query("SELECT COALESCE(u.calendarVersion, 0) FROM CalendarEvent e JOIN e.user u WHERE e.id = :eventId")
+    Optional<Long> findOwnerCalendarVersion(@Param("eventId") Long eventId);
+    
+    // (startTime, endTime) of the user's single events overlapping (from, to) that are not in one of the
+    // given statuses, ordered by start; no entities are built. Must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.startTime, e.endTime FROM CalendarEvent e WHERE e.user.id = :userId " +
+           "AND e.startTime < :to AND e.endTime > :from AND e.status NOT IN :excludedStatuses " +
+           "AND e.recurrenceRule IS NULL ORDER BY e.startTime")
+    Stream<Object[]> streamBusyRanges(@Param("userId") Long userId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("excludedStatuses") Collection<EventStatus> excludedStatuses);
+    
+    // (id, userId, title, startTime) of general events starting in [from, to) and (id, userId, title, endTime)
+    // of assignments due in [from, to), across all users; series masters and cancelled events excluded.
+    // Must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id, e.user.id, e.title, e.startTime FROM CalendarEvent e WHERE TYPE(e) <> AssignmentEvent " +
+           "AND e.startTime >= :from AND e.startTime < :to AND e.status NOT IN :excludedStatuses " +
+           "AND e.recurrenceRule IS NULL")
+    Stream<Object[]> streamEventsStartingBetween(@Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("excludedStatuses") Collection<EventStatus> excludedStatuses);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id, e.user.id, e.title, e.endTime FROM AssignmentEvent e " +
+           "WHERE e.endTime >= :from AND e.endTime < :to AND e.status NOT IN :excludedStatuses " +
+           "AND e.recurrenceRule IS NULL")
+    Stream<Object[]> streamAssignmentsDueBetween(@Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("excludedStatuses") Collection<EventStatus> excludedStatuses);
+    
+    // (id, userId, endTime) of single general events in one of the statuses whose end time has passed.
+    // The rows stay locked until commit so the caller's UPDATE changes exactly these rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id, e.user.id, e.endTime FROM CalendarEvent e WHERE e.status IN :statuses AND e.endTime <= :now " +
+           "AND TYPE(e) <> AssignmentEvent AND e.recurrenceRule IS NULL")
+    List<Object[]> findEndedIdsByStatus(@Param("statuses") Collection<EventStatus> statuses,
+                                        @Param("now") LocalDateTime now,
+                                        Pageable pageable);
+    
+    // (id, userId) of single general events in the status that are running at the given time
+    @Query("SELECT e.id, e.user.id FROM CalendarEvent e WHERE e.status = :status AND e.startTime <= :now " +
+           "AND e.endTime > :now AND TYPE(e) <> AssignmentEvent AND e.recurrenceRule IS NULL")
+    List<Object[]> findStartedIdsByStatus(@Param("status") EventStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+    
+    // The status and time conditions are repeated so that rows changed since they were selected are left alone
+    @Modifying
+    @Query("UPDATE CalendarEvent e SET e.status = :to, e.updatedAt = :now, e.version = e.version + 1 WHERE e.id IN :ids " +
+           "AND e.status IN :statuses AND e.endTime <= :now")
+    int completeEnded(@Param("ids") Collection<Long> ids,
+                      @Param("statuses") Collection<EventStatus> statuses,
+                      @Param("to") EventStatus to,
+                      @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE CalendarEvent e SET e.status = :to, e.updatedAt = :now, e.version = e.version + 1 WHERE e.id IN :ids " +
+           "AND e.status = :status AND e.startTime <= :now AND e.endTime > :now")
+    int startRunning(@Param("ids") Collection<Long> ids,
+                     @Param("status") EventStatus status,
+                     @Param("to") EventStatus to,
+                     @Param("now") LocalDateTime now);
+    
+    // Dashboard aggregates; series masters count once
+    @Query("SELECT e.status, COUNT(e) FROM CalendarEvent e WHERE e.user.id = :userId GROUP BY e.status")
+    List<Object[]> countByStatus(@Param("userId") Long userId);
+    
+    @Query("SELECT e.priority, COUNT(e) FROM CalendarEvent e WHERE e.user.id = :userId GROUP BY e.priority")
+    List<Object[]> countByPriority(@Param("userId") Long userId);
+    
+    // (categoryId, name, count); the uncategorized group has null id and name
+    @Query("SELECT c.id, c.name, COUNT(e) FROM CalendarEvent e LEFT JOIN e.category c " +
+           "WHERE e.user.id = :userId GROUP BY c.id, c.name")
+    List<Object[]> countByCategory(@Param("userId") Long userId);
+    
+    // (tagId, count) over the join table, for tags used by at least one of the user's events
+    @Query("SELECT t.id, COUNT(e) FROM CalendarEvent e JOIN e.tags t WHERE e.user.id = :userId GROUP BY t.id")
+    List<Object[]> countByTag(@Param("userId") Long userId);
+    
+    // (userId, dueDate, count) of open single events, the source of UserEventCounter rows
+    @Query("SELECT e.user.id, CAST(e.endTime AS LocalDate), COUNT(e) FROM CalendarEvent e " +
+           "WHERE e.user.id IN :userIds AND e.status IN :openStatuses AND e.recurrenceRule IS NULL " +
+           "GROUP BY e.user.id, CAST(e.endTime AS LocalDate)")
+    List<Object[]> countOpenByUserAndDueDate(@Param("userIds") Collection<Long> userIds,
+                                             @Param("openStatuses") Collection<EventStatus> openStatuses);
+    
+    // (id, startTime, endTime, status) rows for building in-memory time indexes without loading entities
+    @Query("SELECT e.id, e.startTime, e.endTime, e.status FROM CalendarEvent e " +
+           "WHERE e.user.id = :userId AND e.recurrenceRule IS NULL")
+    List<Object[]> findTimeRangesByUserId(@Param("userId") Long userId);
 } 
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.StudyTrack.mobilebackend.repository;
+
+import com.StudyTrack.mobilebackend.entity.AssignmentEvent;
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import com.StudyTrack.mobilebackend.entity.EventPriority;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.entity.EventTag;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Predicates for the filterable event listing. Each one maps onto a leading or range
+ * column of a calendar_events index that starts with user_id, so combined with
+ * {@link #belongsTo} the database reads only the matching slice.
+ */
+public final class CalendarEventSpecifications {
+    
+    private CalendarEventSpecifications() {
+    }
+    
+    public static Specification<CalendarEvent> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+    
+    // Start time in [from, to); either bound may be null
+    public static Specification<CalendarEvent> startsBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(root.get("startTime"), from),
+                        cb.lessThan(root.get("startTime"), to));
+            }
+            return from != null ? cb.greaterThanOrEqualTo(root.get("startTime"), from)
+                    : cb.lessThan(root.get("startTime"), to);
+        };
+    }
+    
+    public static Specification<CalendarEvent> statusIn(Collection<EventStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+    
+    public static Specification<CalendarEvent> priorityIn(Collection<EventPriority> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+    
+    public static Specification<CalendarEvent> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+    
+    // Compares the discriminator column, so no subclass columns are involved
+    public static Specification<CalendarEvent> ofType(Class<? extends CalendarEvent> type) {
+        return (root, query, cb) -> cb.equal(root.type(), type);
+    }
+    
+    public static Specification<CalendarEvent> withCourseCode(String courseCode) {
+        return (root, query, cb) -> cb.equal(cb.treat(root, AssignmentEvent.class).get("courseCode"), courseCode);
+    }
+    
+    // Ids resolved outside the database, e.g. by the tag index
+    public static Specification<CalendarEvent> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+    
+    // Tagged with all (or, with matchAll false, any) of the distinct tag ids; a correlated
+    // count over the join table, so the bind parameters are the tags rather than the events
+    public static Specification<CalendarEvent> taggedWith(Collection<Long> tagIds, boolean matchAll) {
+        return (root, query, cb) -> {
+            Subquery<Long> matching = query.subquery(Long.class);
+            Root<CalendarEvent> event = matching.correlate(root);
+            Join<CalendarEvent, EventTag> tag = event.join("tags");
+            matching.select(cb.count(tag)).where(tag.get("id").in(tagIds));
+            return matchAll ? cb.equal(matching, (long) tagIds.size()) : cb.greaterThan(matching, 0L);
+        };
+    }
+    
+    // Keyset position: strictly after (startTime, id) in (start_time, id) order
+    public static Specification<CalendarEvent> after(LocalDateTime startTime, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("startTime"), startTime),
+                cb.and(cb.equal(root.get("startTime"), startTime), cb.greaterThan(root.get("id"), id)));
+    }
+}
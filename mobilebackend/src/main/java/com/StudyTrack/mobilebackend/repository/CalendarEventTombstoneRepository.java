@@ -0,0 +1,29 @@
+package com.StudyTrack.mobilebackend.repository;
+
+import com.StudyTrack.mobilebackend.entity.CalendarEventTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CalendarEventTombstoneRepository extends JpaRepository<CalendarEventTombstone, Long> {
+    
+    // Keyset scan on (user_id, deleted_at), mirroring CalendarEventRepository.findChangedSince
+    @Query("SELECT t FROM CalendarEventTombstone t WHERE t.userId = :userId " +
+           "AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :afterId)) " +
+           "AND t.deletedAt <= :until ORDER BY t.deletedAt, t.id")
+    List<CalendarEventTombstone> findChangedSince(@Param("userId") Long userId,
+                                                  @Param("since") LocalDateTime since,
+                                                  @Param("afterId") long afterId,
+                                                  @Param("until") LocalDateTime until,
+                                                  Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM CalendarEventTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,34 @@
+package com.StudyTrack.mobilebackend.repository;
+
+import com.StudyTrack.mobilebackend.entity.UserEventCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+@Repository
+public interface UserEventCounterRepository extends JpaRepository<UserEventCounter, Long> {
+    
+    // Returns 0 when the user has no row for the day yet
+    @Modifying
+    @Query("UPDATE UserEventCounter c SET c.openCount = c.openCount + :delta " +
+           "WHERE c.userId = :userId AND c.dueDate = :dueDate")
+    int addToOpenCount(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate, @Param("delta") long delta);
+    
+    // (open, overdue, dueThisWeek) in one pass over the user's rows; sums are null when there are none
+    @Query("SELECT SUM(c.openCount), " +
+           "SUM(CASE WHEN c.dueDate < :today THEN c.openCount ELSE 0 END), " +
+           "SUM(CASE WHEN c.dueDate >= :today AND c.dueDate < :weekEnd THEN c.openCount ELSE 0 END) " +
+           "FROM UserEventCounter c WHERE c.userId = :userId")
+    Object[] sumOpenCounts(@Param("userId") Long userId,
+                           @Param("today") LocalDate today,
+                           @Param("weekEnd") LocalDate weekEnd);
+    
+    @Modifying
+    @Query("DELETE FROM UserEventCounter c WHERE c.userId IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+}
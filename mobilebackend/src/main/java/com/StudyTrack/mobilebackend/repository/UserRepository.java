@@ -1,8 +1,16 @@
 package com.StudyTrack.mobilebackend.repository;
 
 import com.StudyTrack.mobilebackend.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +19,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    // Rows created before the column existed hold NULL, which counts as version 0
+    @Query("SELECT COALESCE(u.calendarVersion, 0) FROM User u WHERE u.username = :username")
+    Optional<Long> findCalendarVersionByUsername(@Param("username") String username);
+    
+    // Atomic in the database and locks the user row until commit, so versions never go backwards
+    @Modifying
+    @Query("UPDATE User u SET u.calendarVersion = COALESCE(u.calendarVersion, 0) + 1 WHERE u.id = :userId")
+    int incrementCalendarVersion(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.calendarVersion = COALESCE(u.calendarVersion, 0) + 1 WHERE u.id IN :userIds")
+    int incrementCalendarVersions(@Param("userIds") Collection<Long> userIds);
+    
+    // Those of the given users who let others search common slots with them
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds AND u.freeBusyShared = true")
+    List<Long> findFreeBusySharedIds(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Locks the user rows, which every write of their events also locks, until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds")
+    List<Long> lockByIds(@Param("userIds") Collection<Long> userIds);
 } 
\ No newline at end of file
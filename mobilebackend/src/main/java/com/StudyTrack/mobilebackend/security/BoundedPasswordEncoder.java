@@ -0,0 +1,146 @@
+package com.StudyTrack.mobilebackend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a dedicated fixed-size pool, so hashing and verification during a burst of
+ * registrations or logins use at most {@code threads} cores instead of every request
+ * thread. Work beyond a bounded queue is rejected at once, and callers stop waiting after
+ * {@code timeoutMillis}; both surface as {@link PasswordHashingBusyException}.
+ * <p>
+ * upgradeEncoding reports hashes whose cost differs from the configured strength, up or
+ * down, so the authentication provider rehashes them on the next successful login.
+ * Queue wait and hashing time are recorded per operation as password.hash.queue and
+ * password.hash.duration.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    // $2a$10$... (also $2b$ and $2y$); the two digits are the log2 cost
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    
+    private final BCryptPasswordEncoder delegate;
+    
+    private final int strength;
+    
+    private final long timeoutMillis;
+    
+    private final ThreadPoolExecutor executor;
+    
+    private final MeterRegistry meterRegistry;
+    
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+        this.meterRegistry = meterRegistry;
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        Gauge.builder("password.hash.queued", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads busy")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+    
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> T run(String operation, Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                timer("password.hash.queue", operation).record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer("password.hash.duration", operation).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected(operation, "queue_full");
+            throw new PasswordHashingBusyException();
+        }
+        
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued tasks are skipped; one already hashing runs to completion
+            future.cancel(false);
+            rejected(operation, "timeout");
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private Timer timer(String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+    
+    private void rejected(String operation, String reason) {
+        Counter.builder("password.hash.rejected")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -1,7 +1,15 @@
 package com.StudyTrack.mobilebackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,6 +17,8 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -19,8 +29,41 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Times signature verification only; cache hits are visible in the cache metrics
+    private Timer parseTimer;
+    
+    // Key and parser are immutable and thread-safe, so they are built once
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    // Tokens whose signature has already been checked, evicted when the token expires;
+    // null when the cache is disabled with a max size of zero
+    private Cache<String, Claims> verifiedTokens;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        parseTimer = Timer.builder("jwt.parse")
+                .description("Time to parse and verify a JWT")
+                .register(meterRegistry);
+        if (verifiedCacheMaxSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+        }
     }
     
     public String generateToken(Authentication authentication) {
@@ -32,29 +75,66 @@ public class JwtTokenProvider {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token once and returns its claims, or empty if the token is
+     * malformed, badly signed or expired. Recently verified tokens are answered
+     * from the cache without recomputing the HMAC.
+     */
+    public Optional<Claims> getValidatedClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Claims cached = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         
-        return claims.getSubject();
+        try {
+            Claims claims = parseTimer.record(() -> jwtParser.parseClaimsJws(token).getBody());
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, claims);
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
+    public String getUsernameFromToken(String token) {
+        return getValidatedClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
     
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return getValidatedClaims(token).isPresent();
+    }
+    
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-} 
\ No newline at end of file
+}
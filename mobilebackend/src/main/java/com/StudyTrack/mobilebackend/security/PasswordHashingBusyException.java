@@ -0,0 +1,12 @@
+package com.StudyTrack.mobilebackend.security;
+
+/**
+ * Thrown when a password cannot be hashed or checked because the hashing executor's
+ * queue is full or the work did not finish in time. Callers should answer 503.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException() {
+        super("Server is busy, please try again shortly");
+    }
+}
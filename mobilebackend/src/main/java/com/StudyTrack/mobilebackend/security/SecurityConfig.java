@@ -1,6 +1,8 @@
 package com.StudyTrack.mobilebackend.security;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.StudyTrack.mobilebackend.entity.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,7 +11,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,11 +25,10 @@ import java.util.Arrays;
 @EnableMethodSecurity
 public class SecurityConfig {
     
-    @Autowired
-    private JwtAuthenticationFilter jwtAuthenticationFilter;
-    
+    // The filter is injected per bean method so that this configuration (and its
+    // PasswordEncoder) does not depend on it, which would close a cycle through UserService
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http
             .cors().and().csrf().disable()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -36,6 +36,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // Metrics expose per-URI traffic and latency, so scrapers use an admin token
+                .requestMatchers("/actuator/**").hasAuthority(UserRole.ADMIN.name())
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -48,9 +51,17 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    // Hashing runs on its own bounded pool rather than on request threads; 0 threads means half the cores
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hash-threads:0}") int threads,
+                                           @Value("${security.password.hash-queue-capacity:100}") int queueCapacity,
+                                           @Value("${security.password.hash-timeout-ms:5000}") long timeoutMillis,
+                                           MeterRegistry meterRegistry) {
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, timeoutMillis, meterRegistry);
     }
     
     @Bean
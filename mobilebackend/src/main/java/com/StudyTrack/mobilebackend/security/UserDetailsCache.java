@@ -0,0 +1,58 @@
+package com.StudyTrack.mobilebackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of UserDetails used by the JWT filter so that an
+ * authenticated request does not query the users table. Entries are evicted when
+ * the user row changes (see UserDetailsCacheInvalidator). Hit/miss counts are
+ * published as the "userDetails" cache metrics.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+    
+    public static final String CACHE_NAME = "userDetails";
+    
+    private final Cache<String, UserDetails> cache;
+    
+    public UserDetailsCache(@Value("${security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    // Returns the cached entry or loads and caches it; loader exceptions are not cached
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+    
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+    
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), user);
+    }
+    
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+}
@@ -0,0 +1,37 @@
+package com.StudyTrack.mobilebackend.security;
+
+import com.StudyTrack.mobilebackend.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that drops a user's cached UserDetails whenever the row is
+ * updated (role, active flag, password) or deleted. The entry is evicted at flush
+ * and again after commit, so a concurrent reload of the old row cannot survive.
+ */
+@Component
+public class UserDetailsCacheInvalidator {
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        userDetailsCache.removeUserFromCache(username);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.removeUserFromCache(username);
+                }
+            });
+        }
+    }
+}
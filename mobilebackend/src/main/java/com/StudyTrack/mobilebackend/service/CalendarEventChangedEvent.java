@@ -0,0 +1,54 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+
+/**
+ * Published by CalendarEventService after an event is created, updated or deleted so that
+ * in-memory indexes can follow the change. Snapshots carry tag ids only when the tags were
+ * loaded; a null tag list means they were not touched.
+ */
+public class CalendarEventChangedEvent {
+    
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private final ChangeType type;
+    private final Long eventId;
+    private final Long userId;
+    private final CalendarEventDto before;
+    private final CalendarEventDto after;
+    
+    public CalendarEventChangedEvent(ChangeType type, Long eventId, Long userId,
+                                     CalendarEventDto before, CalendarEventDto after) {
+        this.type = type;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.before = before;
+        this.after = after;
+    }
+    
+    public ChangeType getType() {
+        return type;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    // Null for CREATED
+    public CalendarEventDto getBefore() {
+        return before;
+    }
+    
+    // Null for DELETED
+    public CalendarEventDto getAfter() {
+        return after;
+    }
+} 
\ No newline at end of file
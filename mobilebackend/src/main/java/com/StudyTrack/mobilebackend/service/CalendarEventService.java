@@ -1,22 +1,59 @@
 package com.StudyTrack.mobilebackend.service;
 
+import com.StudyTrack.mobilebackend.dto.BatchItemResultDto;
 import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
 import com.StudyTrack.mobilebackend.entity.*;
+import com.StudyTrack.mobilebackend.index.EventIntervalIndex;
+import com.StudyTrack.mobilebackend.index.EventSearchIndex;
+import com.StudyTrack.mobilebackend.recurrence.RecurrenceRule;
 import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
-import com.StudyTrack.mobilebackend.repository.EventCategoryRepository;
-import com.StudyTrack.mobilebackend.repository.EventTagRepository;
 import com.StudyTrack.mobilebackend.repository.UserRepository;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent.ChangeType;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("calendar.event.service")
 public class CalendarEventService {
     
+    private static final Logger logger = LoggerFactory.getLogger(CalendarEventService.class);
+    
+    // Lower bound for series lookups that are only bounded above
+    private static final LocalDateTime SERIES_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
     @Autowired
     private CalendarEventRepository eventRepository;
     
@@ -24,61 +61,76 @@ public class CalendarEventService {
     private UserRepository userRepository;
     
     @Autowired
-    private EventCategoryRepository categoryRepository;
+    private ReferenceDataCache referenceDataCache;
+    
+    @Autowired
+    private EventIntervalIndex intervalIndex;
+    
+    @Autowired
+    private EventSearchIndex searchIndex;
+    
+    @Autowired
+    private EventStatsService statsService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private Validator validator;
     
     @Autowired
-    private EventTagRepository tagRepository;
+    private ApplicationEventPublisher eventPublisher;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Number of days ahead covered by /upcoming; zero or negative (the default) means no limit
+    @Value("${events.upcoming.horizon-days:0}")
+    private int upcomingHorizonDays;
+    
+    // Longest window that series are expanded over in one request
+    @Value("${events.range.max-days:366}")
+    private int rangeMaxDays;
+    
+    @Value("${events.batch.max-size:1000}")
+    private int batchMaxSize;
+    
+    // Items per transaction in batch create/update; a multiple of hibernate.jdbc.batch_size works best
+    @Value("${events.batch.chunk-size:100}")
+    private int batchChunkSize;
+    
+    @Value("${events.search.max-results:100}")
+    private int searchMaxResults;
+    
+    @Transactional
     public CalendarEvent createEvent(CalendarEventDto eventDto, String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        CalendarEvent event;
-        
-        if ("ASSIGNMENT".equals(eventDto.getEventType())) {
-            AssignmentEvent assignmentEvent = new AssignmentEvent();
-            assignmentEvent.setSubject(eventDto.getSubject());
-            assignmentEvent.setCourseCode(eventDto.getCourseCode());
-            if (eventDto.getAssignmentType() != null) {
-                assignmentEvent.setAssignmentType(AssignmentType.valueOf(eventDto.getAssignmentType()));
-            }
-            assignmentEvent.setTotalPoints(eventDto.getTotalPoints());
-            assignmentEvent.setSubmissionMethod(eventDto.getSubmissionMethod());
-            assignmentEvent.setGroupAssignment(eventDto.isGroupAssignment());
-            event = assignmentEvent;
-        } else {
-            event = new CalendarEvent() {
-                @Override
-                public String getEventType() {
-                    return "GENERAL";
-                }
-            };
-        }
-        
-        event.setTitle(eventDto.getTitle());
-        event.setDescription(eventDto.getDescription());
-        event.setStartTime(eventDto.getStartTime());
-        event.setEndTime(eventDto.getEndTime());
-        event.setPriority(eventDto.getPriority());
-        event.setStatus(eventDto.getStatus());
+        CalendarEvent event = newEvent(eventDto);
         event.setUser(user);
         
         // Set category if provided
+        EventCategory category = null;
         if (eventDto.getCategoryId() != null) {
-            EventCategory category = categoryRepository.findById(eventDto.getCategoryId())
-                    .orElse(null);
-            event.setCategory(category);
+            category = categoryReference(eventDto.getCategoryId());
         }
         
         // Set tags if provided
+        List<EventTag> tags = new ArrayList<>();
         if (eventDto.getTagIds() != null && !eventDto.getTagIds().isEmpty()) {
-            List<EventTag> tags = tagRepository.findAllById(eventDto.getTagIds());
-            event.setTags(tags);
+            tags = tagReferences(eventDto.getTagIds());
         }
         
-        return eventRepository.save(event);
+        applyDto(event, eventDto, category, tags);
+        CalendarEvent saved = eventRepository.save(event);
+        userRepository.incrementCalendarVersion(user.getId());
+        
+        recordChange(new CalendarEventChangedEvent(ChangeType.CREATED, saved.getId(), user.getId(), null, snapshot(saved)));
+        return saved;
     }
     
+    @Transactional
     public CalendarEvent updateEvent(Long eventId, CalendarEventDto eventDto, String username) {
         CalendarEvent event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -87,30 +139,309 @@ public class CalendarEventService {
         if (!event.getUser().getUsername().equals(username)) {
             throw new RuntimeException("You can only update your own events");
         }
+        CalendarEventDto before = snapshot(event);
+        
+        // Update category if provided
+        EventCategory category = event.getCategory();
+        if (eventDto.getCategoryId() != null) {
+            category = categoryReference(eventDto.getCategoryId());
+        }
+        
+        // Update tags if provided
+        List<EventTag> tags = null;
+        if (eventDto.getTagIds() != null) {
+            tags = tagReferences(eventDto.getTagIds());
+        }
+        
+        applyDto(event, eventDto, category, tags);
+        CalendarEvent saved = eventRepository.save(event);
+        flushOrConflict();
+        userRepository.incrementCalendarVersion(saved.getUser().getId());
+        
+        recordChange(new CalendarEventChangedEvent(ChangeType.UPDATED, saved.getId(), saved.getUser().getId(),
+                before, snapshot(saved)));
+        return saved;
+    }
+    
+    /**
+     * Creates many events for the user. Categories and tags are resolved once for the
+     * whole batch, and items are persisted in chunks of {@code events.batch.chunk-size},
+     * each in its own transaction so JDBC insert batching applies. A failing item is
+     * reported without stopping the batch; a chunk that fails on flush is rolled back
+     * and all of its items are reported as failed.
+     */
+    public List<BatchItemResultDto> createEvents(List<CalendarEventDto> eventDtos, String username) {
+        checkBatchSize(eventDtos);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        BatchReferences references = resolveReferences(eventDtos);
+        
+        return processInChunks(eventDtos, (chunk, offset, changes) -> {
+            List<BatchItemResultDto> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                CalendarEventDto eventDto = chunk.get(i);
+                try {
+                    checkValid(eventDto);
+                    CalendarEvent event = newEvent(eventDto);
+                    event.setUser(user);
+                    applyDto(event, eventDto, references.category(eventDto.getCategoryId()),
+                            references.tags(eventDto.getTagIds()));
+                    checkValid(event);
+                    entityManager.persist(event);
+                    changes.add(new CalendarEventChangedEvent(ChangeType.CREATED, event.getId(), user.getId(),
+                            null, snapshot(event)));
+                    results.add(BatchItemResultDto.success(offset + i, event.getId()));
+                } catch (RuntimeException e) {
+                    results.add(BatchItemResultDto.failure(offset + i, eventDto.getId(), e.getMessage()));
+                }
+            }
+            return results;
+        });
+    }
+    
+    /**
+     * Updates many of the user's events, identified by {@link CalendarEventDto#getId()}.
+     * Each chunk loads its events with one query and flushes the updates as a JDBC batch.
+     */
+    public List<BatchItemResultDto> updateEvents(List<CalendarEventDto> eventDtos, String username) {
+        checkBatchSize(eventDtos);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        BatchReferences references = resolveReferences(eventDtos);
+        
+        return processInChunks(eventDtos, (chunk, offset, changes) -> {
+            List<Long> ids = chunk.stream()
+                    .map(CalendarEventDto::getId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            Map<Long, CalendarEvent> events = new HashMap<>();
+            for (CalendarEvent event : eventRepository.findAllById(ids)) {
+                events.put(event.getId(), event);
+            }
+            
+            List<BatchItemResultDto> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                CalendarEventDto eventDto = chunk.get(i);
+                try {
+                    checkValid(eventDto);
+                    CalendarEvent event = eventDto.getId() != null ? events.get(eventDto.getId()) : null;
+                    if (event == null) {
+                        throw new RuntimeException("Event not found");
+                    }
+                    // Compare ids so the owning user is never loaded
+                    if (!event.getUser().getId().equals(user.getId())) {
+                        throw new RuntimeException("You can only update your own events");
+                    }
+                    CalendarEventDto before = snapshot(event);
+                    
+                    EventCategory category = eventDto.getCategoryId() != null
+                            ? references.category(eventDto.getCategoryId())
+                            : event.getCategory();
+                    List<EventTag> tags = eventDto.getTagIds() != null ? references.tags(eventDto.getTagIds()) : null;
+                    applyDto(event, eventDto, category, tags);
+                    checkValid(event);
+                    changes.add(new CalendarEventChangedEvent(ChangeType.UPDATED, event.getId(), user.getId(),
+                            before, snapshot(event)));
+                    results.add(BatchItemResultDto.success(offset + i, event.getId()));
+                } catch (RuntimeException e) {
+                    // Keep a rejected item's changes out of the flush
+                    if (eventDto.getId() != null && events.containsKey(eventDto.getId())) {
+                        entityManager.detach(events.get(eventDto.getId()));
+                    }
+                    results.add(BatchItemResultDto.failure(offset + i, eventDto.getId(), e.getMessage()));
+                }
+            }
+            return results;
+        });
+    }
+    
+    private CalendarEvent newEvent(CalendarEventDto eventDto) {
+        if (!"ASSIGNMENT".equals(eventDto.getEventType())) {
+            return new GeneralEvent();
+        }
         
+        AssignmentEvent assignmentEvent = new AssignmentEvent();
+        assignmentEvent.setSubject(eventDto.getSubject());
+        assignmentEvent.setCourseCode(eventDto.getCourseCode());
+        if (eventDto.getAssignmentType() != null) {
+            assignmentEvent.setAssignmentType(AssignmentType.valueOf(eventDto.getAssignmentType()));
+        }
+        assignmentEvent.setTotalPoints(eventDto.getTotalPoints());
+        assignmentEvent.setSubmissionMethod(eventDto.getSubmissionMethod());
+        assignmentEvent.setGroupAssignment(eventDto.isGroupAssignment());
+        return assignmentEvent;
+    }
+    
+    // Copies the common fields; a null tag list leaves the current tags untouched
+    private void applyDto(CalendarEvent event, CalendarEventDto eventDto, EventCategory category, List<EventTag> tags) {
         event.setTitle(eventDto.getTitle());
         event.setDescription(eventDto.getDescription());
         event.setStartTime(eventDto.getStartTime());
         event.setEndTime(eventDto.getEndTime());
         event.setPriority(eventDto.getPriority());
         event.setStatus(eventDto.getStatus());
+        event.setCategory(category);
+        if (tags != null) {
+            event.setTags(tags);
+            // A tag-only change does not dirty the row, but delta sync must still see it
+            event.setUpdatedAt(LocalDateTime.now());
+        }
+        applySeries(event, eventDto);
+    }
+    
+    // Recurrence of a series master, or the occurrence that an overriding event replaces
+    private void applySeries(CalendarEvent event, CalendarEventDto eventDto) {
+        String rule = eventDto.getRecurrenceRule();
+        if (rule != null && !rule.isBlank()) {
+            if (eventDto.getSeriesId() != null) {
+                throw new RuntimeException("An event cannot both repeat and override an occurrence of a series");
+            }
+            event.setRecurrenceRule(rule.trim());
+            event.setRecurrenceUntil(RecurrenceRule.parse(rule).upperBound(eventDto.getStartTime()));
+        } else {
+            event.setRecurrenceRule(null);
+            event.setRecurrenceUntil(null);
+        }
+        if (eventDto.getExceptionDates() != null) {
+            event.getExceptionDates().clear();
+            event.getExceptionDates().addAll(eventDto.getExceptionDates());
+            event.setUpdatedAt(LocalDateTime.now());
+        }
         
-        // Update category if provided
-        if (eventDto.getCategoryId() != null) {
-            EventCategory category = categoryRepository.findById(eventDto.getCategoryId())
-                    .orElse(null);
-            event.setCategory(category);
+        if (eventDto.getSeriesId() != null) {
+            if (eventDto.getOriginalStartTime() == null) {
+                throw new RuntimeException("Original start time is required when overriding an occurrence");
+            }
+            CalendarEvent series = eventRepository.findById(eventDto.getSeriesId())
+                    .filter(CalendarEvent::isSeries)
+                    .orElseThrow(() -> new RuntimeException("Series not found"));
+            if (!series.getUser().getId().equals(event.getUser().getId())) {
+                throw new RuntimeException("You can only override occurrences of your own series");
+            }
+        }
+        event.setSeriesId(eventDto.getSeriesId());
+        event.setOriginalStartTime(eventDto.getSeriesId() != null ? eventDto.getOriginalStartTime() : null);
+    }
+    
+    private void checkBatchSize(List<CalendarEventDto> eventDtos) {
+        if (eventDtos == null || eventDtos.isEmpty()) {
+            throw new RuntimeException("Batch must contain at least one event");
+        }
+        if (eventDtos.size() > batchMaxSize) {
+            throw new RuntimeException("Batch cannot contain more than " + batchMaxSize + " events");
+        }
+    }
+    
+    private void checkValid(Object target) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(target);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.iterator().next().getMessage());
+        }
+    }
+    
+    // Resolves every category and tag referenced anywhere in the batch, from the reference cache
+    private BatchReferences resolveReferences(List<CalendarEventDto> eventDtos) {
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+        for (CalendarEventDto eventDto : eventDtos) {
+            if (eventDto.getCategoryId() != null) {
+                categoryIds.add(eventDto.getCategoryId());
+            }
+            if (eventDto.getTagIds() != null) {
+                tagIds.addAll(eventDto.getTagIds());
+            }
         }
         
-        // Update tags if provided
-        if (eventDto.getTagIds() != null) {
-            List<EventTag> tags = tagRepository.findAllById(eventDto.getTagIds());
-            event.setTags(tags);
+        Map<Long, EventCategory> categories = new HashMap<>();
+        for (Long categoryId : categoryIds) {
+            EventCategory category = categoryReference(categoryId);
+            if (category != null) {
+                categories.put(categoryId, category);
+            }
+        }
+        Map<Long, EventTag> tags = new HashMap<>();
+        if (!tagIds.isEmpty()) {
+            tagReferences(tagIds).forEach(tag -> tags.put(tag.getId(), tag));
+        }
+        return new BatchReferences(categories, tags);
+    }
+    
+    // Existence is checked against the reference cache; the event gets an uninitialized
+    // reference so no select is issued and the shared cached instance is never attached
+    private EventCategory categoryReference(Long categoryId) {
+        return referenceDataCache.findCategory(categoryId)
+                .map(category -> entityManager.getReference(EventCategory.class, category.getId()))
+                .orElse(null);
+    }
+    
+    // Mutable, since saving a managed event merges its tag collection in place
+    private List<EventTag> tagReferences(Collection<Long> tagIds) {
+        return referenceDataCache.findTags(tagIds).stream()
+                .map(tag -> entityManager.getReference(EventTag.class, tag.getId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+    
+    private List<BatchItemResultDto> processInChunks(List<CalendarEventDto> eventDtos, ChunkProcessor processor) {
+        List<BatchItemResultDto> results = new ArrayList<>(eventDtos.size());
+        
+        for (int offset = 0; offset < eventDtos.size(); offset += batchChunkSize) {
+            List<CalendarEventDto> chunk = eventDtos.subList(offset, Math.min(offset + batchChunkSize, eventDtos.size()));
+            int chunkOffset = offset;
+            List<CalendarEventChangedEvent> changes = new ArrayList<>();
+            try {
+                results.addAll(transactionTemplate.execute(status -> {
+                    List<BatchItemResultDto> chunkResults = processor.process(chunk, chunkOffset, changes);
+                    // Lock the event rows before the user rows, as single writes and the status sweeper do
+                    entityManager.flush();
+                    changes.stream()
+                            .map(CalendarEventChangedEvent::getUserId)
+                            .distinct()
+                            .forEach(userRepository::incrementCalendarVersion);
+                    changes.forEach(statsService::apply);
+                    entityManager.flush();
+                    entityManager.clear();
+                    return chunkResults;
+                }));
+                changes.forEach(this::publishChange);
+            } catch (RuntimeException e) {
+                logger.warn("Rolled back batch chunk at offset {}", chunkOffset, e);
+                String error = e instanceof OptimisticLockException || e instanceof ObjectOptimisticLockingFailureException
+                        ? "Chunk rolled back because an event was changed concurrently, reload and try again"
+                        : "Chunk rolled back due to a database error";
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(BatchItemResultDto.failure(chunkOffset + i, chunk.get(i).getId(), error));
+                }
+            }
+        }
+        return results;
+    }
+    
+    private interface ChunkProcessor {
+        // Changes of successful items are published once the chunk has committed
+        List<BatchItemResultDto> process(List<CalendarEventDto> chunk, int offset, List<CalendarEventChangedEvent> changes);
+    }
+    
+    private record BatchReferences(Map<Long, EventCategory> categories, Map<Long, EventTag> tags) {
+        
+        EventCategory category(Long categoryId) {
+            return categoryId != null ? categories.get(categoryId) : null;
         }
         
-        return eventRepository.save(event);
+        List<EventTag> tags(List<Long> tagIds) {
+            List<EventTag> resolved = new ArrayList<>();
+            if (tagIds != null) {
+                for (Long tagId : tagIds) {
+                    EventTag tag = tags.get(tagId);
+                    if (tag != null && !resolved.contains(tag)) {
+                        resolved.add(tag);
+                    }
+                }
+            }
+            return resolved;
+        }
     }
     
+    @Transactional
     public void deleteEvent(Long eventId, String username) {
         CalendarEvent event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -119,35 +450,325 @@ public class CalendarEventService {
         if (!event.getUser().getUsername().equals(username)) {
             throw new RuntimeException("You can only delete your own events");
         }
+        CalendarEventDto before = snapshot(event);
         
+        // Overriding events go with their series
+        if (event.isSeries()) {
+            for (CalendarEvent override : eventRepository.findBySeriesId(event.getId())) {
+                CalendarEventDto overrideBefore = snapshot(override);
+                eventRepository.delete(override);
+                recordChange(new CalendarEventChangedEvent(ChangeType.DELETED, override.getId(),
+                        event.getUser().getId(), overrideBefore, null));
+            }
+        }
         eventRepository.delete(event);
+        flushOrConflict();
+        // Event rows before the user row, the same lock order as updates and the status sweeper
+        userRepository.incrementCalendarVersion(event.getUser().getId());
+        recordChange(new CalendarEventChangedEvent(ChangeType.DELETED, event.getId(), event.getUser().getId(),
+                before, null));
     }
     
-    public List<CalendarEvent> getUserEvents(String username) {
-        User user = userRepository.findByUsername(username)
+    // Writes pending changes now so a version conflict with the status sweeper is reported here, not at commit
+    private void flushOrConflict() {
+        try {
+            eventRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new RuntimeException("Event was changed concurrently, reload and try again");
+        }
+    }
+    
+    // Snapshot for change events; tag ids are included only if the collection is already loaded
+    private CalendarEventDto snapshot(CalendarEvent event) {
+        CalendarEventDto dto = CalendarEventDto.fromEntity(event);
+        if (Hibernate.isInitialized(event.getTags())) {
+            dto.setTagIds(event.getTags().stream().map(EventTag::getId).toList());
+        }
+        return dto;
+    }
+    
+    private void publishChange(CalendarEventChangedEvent change) {
+        eventPublisher.publishEvent(change);
+    }
+    
+    // For single writes: counters move in this transaction, listeners hear about it on commit
+    private void recordChange(CalendarEventChangedEvent change) {
+        statsService.apply(change);
+        publishChange(change);
+    }
+    
+    /**
+     * Current calendar version of the user; any create, update or delete of one of their
+     * events produces a higher value. Read before the data it describes, a concurrent
+     * write can only make the version older than the data, never newer.
+     */
+    @Transactional(readOnly = true)
+    public long getCalendarVersion(String username) {
+        return userRepository.findCalendarVersionByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return eventRepository.findByUser(user);
     }
     
-    public Optional<CalendarEvent> getEventById(Long eventId) {
-        return eventRepository.findById(eventId);
+    // Calendar version of the event's owner, or empty when the event does not exist
+    @Transactional(readOnly = true)
+    public Optional<Long> getEventCalendarVersion(Long eventId) {
+        return eventRepository.findOwnerCalendarVersion(eventId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> getUserEvents(String username) {
+        return toDtos(eventRepository.findByUsername(username));
+    }
+    
+    /**
+     * Streams every event of the user to the sink without materialising the full list.
+     * Rows are read through a cursor and handled in chunks of the fetch size: one tag
+     * lookup per chunk, then the persistence context is cleared so memory stays flat.
+     */
+    @Transactional(readOnly = true)
+    public void exportUserEvents(String username, Consumer<CalendarEventDto> sink) {
+        List<CalendarEvent> chunk = new ArrayList<>(CalendarEventRepository.EXPORT_FETCH_SIZE);
+        
+        try (Stream<CalendarEvent> events = eventRepository.streamByUsername(username)) {
+            events.forEach(event -> {
+                chunk.add(event);
+                if (chunk.size() == CalendarEventRepository.EXPORT_FETCH_SIZE) {
+                    flushExportChunk(chunk, sink);
+                }
+            });
+        }
+        flushExportChunk(chunk, sink);
+    }
+    
+    private void flushExportChunk(List<CalendarEvent> chunk, Consumer<CalendarEventDto> sink) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        toDtos(chunk).forEach(sink);
+        
+        chunk.clear();
+        entityManager.clear();
+    }
+    
+    /**
+     * Maps events to their response shape with a single tag lookup for the whole
+     * list, so N events cost one extra query instead of N lazy collection loads.
+     */
+    public List<CalendarEventDto> toDtos(List<CalendarEvent> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, CalendarEventDto> dtos = new LinkedHashMap<>();
+        List<Long> seriesIds = new ArrayList<>();
+        for (CalendarEvent event : events) {
+            CalendarEventDto dto = CalendarEventDto.fromEntity(event);
+            dto.setTagIds(new ArrayList<>());
+            if (event.isSeries()) {
+                dto.setExceptionDates(new ArrayList<>());
+                seriesIds.add(event.getId());
+            }
+            dtos.put(event.getId(), dto);
+        }
+        for (Object[] pair : eventRepository.findTagIdPairsByEventIds(dtos.keySet())) {
+            dtos.get((Long) pair[0]).getTagIds().add((Long) pair[1]);
+        }
+        if (!seriesIds.isEmpty()) {
+            for (Object[] pair : eventRepository.findExceptionDatePairsByEventIds(seriesIds)) {
+                dtos.get((Long) pair[0]).getExceptionDates().add((LocalDateTime) pair[1]);
+            }
+        }
+        return new ArrayList<>(dtos.values());
+    }
+    
+    public CalendarEventDto toDto(CalendarEvent event) {
+        return toDtos(List.of(event)).get(0);
     }
     
-    public List<CalendarEvent> getUpcomingEvents(String username) {
+    /**
+     * The user's events matching every term of the query (prefix matching), best match
+     * first, answered from the in-memory search index.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> searchEvents(String username, String query, int limit) {
+        if (limit <= 0 || limit > searchMaxResults) {
+            throw new RuntimeException("Limit must be between 1 and " + searchMaxResults);
+        }
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return eventRepository.findByUser(user).stream()
-                .filter(CalendarEvent::isUpcoming)
-                .collect(Collectors.toList());
+        List<Long> ids = searchIndex.search(user.getId(), query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CalendarEvent> events = new HashMap<>();
+        for (CalendarEvent event : eventRepository.findAllById(ids)) {
+            events.put(event.getId(), event);
+        }
+        return toDtos(ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .toList());
     }
     
-    public List<CalendarEvent> getTodayEvents(String username) {
+    /**
+     * Events of the user overlapping [start, end], answered from the interval index so
+     * only the matching rows are read. {@code excludeEventId} skips the event being edited.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> findConflicts(String username, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        if (end.isBefore(start)) {
+            throw new RuntimeException("End time must not be before start time");
+        }
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return eventRepository.findByUser(user).stream()
-                .filter(CalendarEvent::isToday)
-                .collect(Collectors.toList());
+        List<Long> ids = new ArrayList<>(intervalIndex.findOverlapping(user.getId(), start, end));
+        ids.remove(excludeEventId);
+        
+        List<CalendarEventDto> conflicts = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            Map<Long, CalendarEvent> events = new HashMap<>();
+            for (CalendarEvent event : eventRepository.findAllById(ids)) {
+                events.put(event.getId(), event);
+            }
+            List<CalendarEvent> ordered = ids.stream()
+                    .map(events::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            conflicts = toDtos(ordered);
+        }
+        
+        // Series masters are not in the interval index; expand the occurrences that overlap instead
+        List<CalendarEventDto> occurrences = getOverlappingOccurrences(username, start, end);
+        occurrences.removeIf(occurrence -> occurrence.getId().equals(excludeEventId));
+        if (!occurrences.isEmpty()) {
+            conflicts.addAll(occurrences);
+            conflicts.sort(Comparator.comparing(CalendarEventDto::getStartTime));
+        }
+        return conflicts;
+    }
+    
+    /**
+     * Occurrences of the user's series that overlap [start, end] (inclusive, like
+     * findConflicts), ordered by start time. Cancelled and postponed series are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> getOverlappingOccurrences(String username, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime endExclusive = end.plusNanos(1);
+        List<CalendarEvent> series = eventRepository.findSeriesByUsernameInWindow(username, SERIES_EPOCH, endExclusive).stream()
+                .filter(event -> !event.getStatus().isCancelled())
+                .toList();
+        if (series.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<CalendarEventDto> occurrences = expandOccurrences(series, start, endExclusive, true);
+        occurrences.sort(Comparator.comparing(CalendarEventDto::getStartTime));
+        return occurrences;
+    }
+    
+    /**
+     * Events of the user starting in [from, to), with series expanded into their
+     * occurrences. The range may span at most {@code events.range.max-days} days.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> getEventsInRange(String username, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("Range end must be after range start");
+        }
+        if (from.plusDays(rangeMaxDays).isBefore(to)) {
+            throw new RuntimeException("Range cannot span more than " + rangeMaxDays + " days");
+        }
+        requireUser(username);
+        return withOccurrences(username, eventRepository.findByUsernameAndStartTimeBetween(username, from, to), from, to);
+    }
+    
+    // The range queries join on the username, so an unknown user would otherwise just get no events
+    private void requireUser(String username) {
+        if (!userRepository.existsByUsername(username)) {
+            throw new RuntimeException("User not found");
+        }
+    }
+    
+    // Adds the occurrences of the user's series starting in [from, to) to already loaded single events
+    private List<CalendarEventDto> withOccurrences(String username, List<CalendarEvent> singles,
+                                                   LocalDateTime from, LocalDateTime to) {
+        List<CalendarEventDto> events = toDtos(singles);
+        List<CalendarEvent> series = eventRepository.findSeriesByUsernameInWindow(username, from, to);
+        if (series.isEmpty()) {
+            return events;
+        }
+        events.addAll(expandOccurrences(series, from, to, false));
+        events.sort(Comparator.comparing(CalendarEventDto::getStartTime));
+        return events;
+    }
+    
+    /**
+     * Occurrences of the given series masters starting in [from, to) or, with
+     * {@code overlapping}, overlapping that window at all. Cancelled occurrences and
+     * those replaced by an overriding event are skipped; the overriding events are
+     * ordinary rows and come from the regular range queries.
+     */
+    private List<CalendarEventDto> expandOccurrences(List<CalendarEvent> series, LocalDateTime from, LocalDateTime to,
+                                                     boolean overlapping) {
+        List<CalendarEventDto> masters = toDtos(series);
+        Map<Long, Set<LocalDateTime>> skipped = new HashMap<>();
+        LocalDateTime earliest = from;
+        for (CalendarEventDto master : masters) {
+            skipped.put(master.getId(), new HashSet<>(master.getExceptionDates()));
+            LocalDateTime windowStart = windowStart(master, from, overlapping);
+            if (windowStart.isBefore(earliest)) {
+                earliest = windowStart;
+            }
+        }
+        for (Object[] row : eventRepository.findOverriddenStarts(skipped.keySet(), earliest, to)) {
+            skipped.get((Long) row[0]).add((LocalDateTime) row[1]);
+        }
+        
+        List<CalendarEventDto> occurrences = new ArrayList<>();
+        for (CalendarEventDto master : masters) {
+            Set<LocalDateTime> skip = skipped.get(master.getId());
+            RecurrenceRule.parse(master.getRecurrenceRule()).expand(master.getStartTime(),
+                    windowStart(master, from, overlapping), to, start -> {
+                        if (!skip.contains(start)) {
+                            occurrences.add(master.occurrenceAt(start));
+                        }
+                    });
+        }
+        return occurrences;
+    }
+    
+    // An occurrence overlaps a window starting at from if it starts no more than its duration earlier
+    private static LocalDateTime windowStart(CalendarEventDto master, LocalDateTime from, boolean overlapping) {
+        return overlapping ? from.minus(Duration.between(master.getStartTime(), master.getEndTime())) : from;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<CalendarEventDto> getEventById(Long eventId) {
+        return eventRepository.findById(eventId).map(this::toDto);
+    }
+    
+    // "Now" is truncated to the minute so the result only depends on the calendar version and the minute
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> getUpcomingEvents(String username) {
+        requireUser(username);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        
+        if (upcomingHorizonDays <= 0) {
+            // Series that never end are expanded no further than the longest allowed range
+            return withOccurrences(username, eventRepository.findByUsernameAndStartTimeAfter(username, now),
+                    now, now.plusDays(rangeMaxDays));
+        }
+        LocalDateTime horizon = now.plusDays(upcomingHorizonDays);
+        return withOccurrences(username, eventRepository.findByUsernameAndStartTimeBetween(username, now, horizon), now, horizon);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CalendarEventDto> getTodayEvents(String username) {
+        requireUser(username);
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        return withOccurrences(username, eventRepository.findByUsernameAndStartTimeBetween(username, startOfDay, endOfDay),
+                startOfDay, endOfDay);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.EventCategoryDto;
+import com.StudyTrack.mobilebackend.dto.EventTagDto;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.EventCategoryRepository;
+import com.StudyTrack.mobilebackend.repository.EventTagRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Category and tag listings with the current user's event counts. Each listing is one
+ * query for the reference rows and one GROUP BY over the user's events (through the join
+ * table for tags); the entities' event collections are never touched, so a listing costs
+ * the same whether a tag has ten events or ten thousand.
+ */
+@Service
+public class CategoryTagService {
+    
+    private static final Sort BY_NAME = Sort.by("name");
+    
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+    
+    @Autowired
+    private EventTagRepository tagRepository;
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Transactional(readOnly = true)
+    public List<EventCategoryDto> getCategories(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        // (categoryId, name, count); the uncategorized group is not a category
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : eventRepository.countByCategory(user.getId())) {
+            if (row[0] != null) {
+                counts.put((Long) row[0], (Long) row[2]);
+            }
+        }
+        return categoryRepository.findAll(BY_NAME).stream()
+                .map(category -> EventCategoryDto.fromEntity(category, counts.getOrDefault(category.getId(), 0L)))
+                .toList();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventTagDto> getTags(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : eventRepository.countByTag(user.getId())) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return tagRepository.findAll(BY_NAME).stream()
+                .map(tag -> EventTagDto.fromEntity(tag, counts.getOrDefault(tag.getId(), 0L)))
+                .toList();
+    }
+}
@@ -0,0 +1,178 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.CommonSlotsDto;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the time slots in which every member of a group is free, e.g. to schedule a
+ * group assignment. Busy intervals of each user are loaded in parallel on virtual threads
+ * (at most {@code events.common-slots.parallelism} at once, so a large group does not
+ * drain the connection pool), then the sorted per-user lists are combined with a k-way
+ * merge into their union; the gaps of that union are the common free time. Only users
+ * who opted in with {@link #setSharing} can be included.
+ */
+@Service
+@Timed("common.slot.service")
+public class CommonSlotService {
+    
+    @Autowired
+    private FreeBusyService freeBusyService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${events.common-slots.max-users:50}")
+    private int maxUsers;
+    
+    @Value("${events.common-slots.parallelism:8}")
+    private int parallelism;
+    
+    private Semaphore permits;
+    
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(Math.max(1, parallelism));
+    }
+    
+    /**
+     * Common free slots of the requesting user and the given users within [from, to) that
+     * last at least minMinutes. Every other user must share their free/busy time; the error
+     * does not say which ids failed, so it cannot be used to probe for users.
+     */
+    public CommonSlotsDto findCommonSlots(String username, List<Long> userIds,
+                                          LocalDateTime from, LocalDateTime to, int minMinutes) {
+        if (minMinutes <= 0) {
+            throw new RuntimeException("Minimum duration must be positive");
+        }
+        freeBusyService.checkRange(from, to);
+        User requester = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        Set<Long> ids = new LinkedHashSet<>();
+        ids.add(requester.getId());
+        if (userIds != null) {
+            if (userIds.stream().anyMatch(Objects::isNull)) {
+                throw new RuntimeException("User ids must not be empty");
+            }
+            ids.addAll(userIds);
+        }
+        if (ids.size() > maxUsers) {
+            throw new RuntimeException("Cannot search more than " + maxUsers + " users at once");
+        }
+        Set<Long> others = new HashSet<>(ids);
+        others.remove(requester.getId());
+        if (!others.isEmpty() && !others.equals(new HashSet<>(userRepository.findFreeBusySharedIds(others)))) {
+            throw new RuntimeException("Common slots can only be searched with users who share their free/busy time");
+        }
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        List<List<LocalDateTime[]>> busy = loadBusyIntervals(
+                ids.stream().map(id -> users.get(id).getUsername()).toList(), from, to);
+        List<LocalDateTime[]> slots = freeSlots(mergeBusy(busy, from, to), from, to, Duration.ofMinutes(minMinutes));
+        return new CommonSlotsDto(from, to, minMinutes, new ArrayList<>(ids), slots);
+    }
+    
+    // Opts the user in or out of being included in other users' common-slot searches
+    public boolean setSharing(String username, boolean shared) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setFreeBusyShared(shared);
+        userRepository.save(user);
+        return shared;
+    }
+    
+    private List<List<LocalDateTime[]>> loadBusyIntervals(List<String> usernames, LocalDateTime from, LocalDateTime to) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<LocalDateTime[]>>> futures = new ArrayList<>(usernames.size());
+            for (String name : usernames) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return freeBusyService.getBusyIntervals(name, from, to);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<List<LocalDateTime[]>> busy = new ArrayList<>(futures.size());
+            for (Future<List<LocalDateTime[]>> future : futures) {
+                busy.add(future.get());
+            }
+            return busy;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading busy intervals");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to load busy intervals: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    /**
+     * Union of k sorted interval lists. A heap holds the head of each list so intervals come
+     * out in start order in O(n log k) and feed the same sweep as single-user free/busy.
+     */
+    static List<LocalDateTime[]> mergeBusy(List<List<LocalDateTime[]>> busy, LocalDateTime from, LocalDateTime to) {
+        // Entries are {list, position}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, busy.size()),
+                Comparator.comparing((int[] head) -> busy.get(head[0]).get(head[1])[0]));
+        for (int i = 0; i < busy.size(); i++) {
+            if (!busy.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(from, to);
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<LocalDateTime[]> intervals = busy.get(head[0]);
+            LocalDateTime[] interval = intervals.get(head[1]);
+            sweep.add(interval[0], interval[1]);
+            if (++head[1] < intervals.size()) {
+                heads.add(head);
+            }
+        }
+        return sweep.finish();
+    }
+    
+    static List<LocalDateTime[]> freeSlots(List<LocalDateTime[]> busy, LocalDateTime from, LocalDateTime to, Duration minDuration) {
+        List<LocalDateTime[]> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (LocalDateTime[] interval : busy) {
+            addSlot(slots, cursor, interval[0], minDuration);
+            cursor = interval[1];
+        }
+        addSlot(slots, cursor, to, minDuration);
+        return slots;
+    }
+    
+    private static void addSlot(List<LocalDateTime[]> slots, LocalDateTime start, LocalDateTime end, Duration minDuration) {
+        if (!start.plus(minDuration).isAfter(end)) {
+            slots.add(new LocalDateTime[]{start, end});
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.EventFilterDto;
+import com.StudyTrack.mobilebackend.dto.EventPageDto;
+import com.StudyTrack.mobilebackend.entity.AssignmentEvent;
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import com.StudyTrack.mobilebackend.entity.GeneralEvent;
+import com.StudyTrack.mobilebackend.entity.EventTag;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.index.EventTagIndex;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static com.StudyTrack.mobilebackend.repository.CalendarEventSpecifications.*;
+
+/**
+ * Filtered event listing with keyset pagination. Filters become Specifications on top of
+ * the user predicate, and pages are ordered by (startTime, id) with the cursor holding
+ * the last row's pair, so every page is an index range read that starts where the
+ * previous one stopped; there is no OFFSET and no count query. One row beyond the page
+ * size is read to tell whether another page exists. A tag filter is answered by the tag
+ * index and joins the other filters as a set of ids. The index cannot start at a keyset
+ * position, since it knows ids but not start times, so a match larger than
+ * {@code events.query.max-tag-ids} is filtered through the join table instead; the page
+ * query then still reads its index range and binds only the tag ids.
+ */
+@Service
+@Timed("event.query.service")
+public class EventQueryService {
+    
+    private static final Sort KEYSET_ORDER = Sort.by("startTime", "id");
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CalendarEventService eventService;
+    
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    
+    @Autowired
+    private EventTagIndex tagIndex;
+    
+    @Value("${events.query.default-page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${events.query.max-page-size:200}")
+    private int maxPageSize;
+    
+    // Largest tag match passed to the page query as an id list
+    @Value("${events.query.max-tag-ids:500}")
+    private int maxTagIds;
+    
+    @Transactional(readOnly = true)
+    public EventPageDto queryEvents(String username, EventFilterDto filter) {
+        int limit = filter.getLimit() != null ? filter.getLimit() : defaultPageSize;
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new RuntimeException("Limit must be between 1 and " + maxPageSize);
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new RuntimeException("from must be before to");
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        List<Specification<CalendarEvent>> specs = new ArrayList<>();
+        specs.add(belongsTo(user.getId()));
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            specs.add(startsBetween(filter.getFrom(), filter.getTo()));
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            specs.add(statusIn(filter.getStatus()));
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            specs.add(priorityIn(filter.getPriority()));
+        }
+        if (filter.getCategoryId() != null) {
+            specs.add(inCategory(filter.getCategoryId()));
+        }
+        if (filter.getEventType() != null) {
+            specs.add(ofType(eventClass(filter.getEventType())));
+        }
+        if (filter.getCourseCode() != null) {
+            specs.add(withCourseCode(filter.getCourseCode()));
+        }
+        if (filter.getTags() != null || filter.getMatch() != null) {
+            boolean matchAll = matchAll(filter);
+            List<Long> tagIds = tagIds(filter, matchAll);
+            List<Long> ids = tagIds.isEmpty() ? List.of() : tagIndex.find(user.getId(), tagIds, matchAll);
+            if (ids.isEmpty()) {
+                return new EventPageDto();
+            }
+            specs.add(ids.size() <= maxTagIds ? idIn(ids) : taggedWith(tagIds, matchAll));
+        }
+        if (filter.getCursor() != null) {
+            Cursor cursor = Cursor.decode(filter.getCursor());
+            specs.add(after(cursor.startTime(), cursor.id()));
+        }
+        
+        List<CalendarEvent> rows = eventRepository.findBy(Specification.allOf(specs),
+                query -> query.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+        
+        EventPageDto page = new EventPageDto();
+        page.setHasMore(rows.size() > limit);
+        List<CalendarEvent> events = page.isHasMore() ? rows.subList(0, limit) : rows;
+        page.setEvents(eventService.toDtos(events));
+        if (page.isHasMore()) {
+            CalendarEvent last = events.get(events.size() - 1);
+            page.setNextCursor(new Cursor(last.getStartTime(), last.getId()).encode());
+        }
+        return page;
+    }
+    
+    // True for match=all (the default), false for match=any
+    private static boolean matchAll(EventFilterDto filter) {
+        String match = filter.getMatch() != null ? filter.getMatch() : "all";
+        if (!match.equals("all") && !match.equals("any")) {
+            throw new RuntimeException("match must be all or any");
+        }
+        if (filter.getTags() == null) {
+            throw new RuntimeException("match requires tags");
+        }
+        return match.equals("all");
+    }
+    
+    // Distinct ids of the named tags; empty when no event can match
+    private List<Long> tagIds(EventFilterDto filter, boolean matchAll) {
+        List<Long> tagIds = new ArrayList<>();
+        for (String name : filter.getTags()) {
+            if (name.isBlank()) {
+                continue;
+            }
+            Optional<EventTag> tag = referenceDataCache.findTagByName(name.trim());
+            if (tag.isPresent()) {
+                if (!tagIds.contains(tag.get().getId())) {
+                    tagIds.add(tag.get().getId());
+                }
+            } else if (matchAll) {
+                // An unknown tag matches no event
+                return List.of();
+            }
+        }
+        return tagIds;
+    }
+    
+    private static Class<? extends CalendarEvent> eventClass(String eventType) {
+        return switch (eventType.toUpperCase()) {
+            case "ASSIGNMENT" -> AssignmentEvent.class;
+            case "GENERAL" -> GeneralEvent.class;
+            default -> throw new RuntimeException("eventType must be ASSIGNMENT or GENERAL");
+        };
+    }
+    
+    // Position after the last row of a page
+    private record Cursor(LocalDateTime startTime, long id) {
+        
+        String encode() {
+            String raw = startTime.toEpochSecond(ZoneOffset.UTC) + "." + startTime.getNano() + "." + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+        
+        static Cursor decode(String value) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII).split("\\.");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException();
+                }
+                LocalDateTime startTime = LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), ZoneOffset.UTC);
+                return new Cursor(startTime, Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+}
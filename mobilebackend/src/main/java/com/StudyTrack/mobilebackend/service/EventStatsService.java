@@ -0,0 +1,195 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.dto.EventStatsDto;
+import com.StudyTrack.mobilebackend.entity.EventPriority;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.entity.UserEventCounter;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.UserEventCounterRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dashboard statistics. Totals by status, priority and category are GROUP BY queries on
+ * the user's events; open, overdue and due-this-week come from UserEventCounter rows,
+ * one per user and due date, so they need neither a scan of the events nor a clock-dependent
+ * predicate over them.
+ * <p>
+ * The counters are kept in step by the writers: CalendarEventService applies every change
+ * in the transaction that makes it, after the user's calendar version has been bumped, and
+ * EventStatusSweeper decrements for the events it completes. Both hold the user row lock
+ * at that point, which serializes the read-modify-insert of a missing counter row. The
+ * counters are rebuilt from the events table at startup when empty and on
+ * {@code events.stats.counter-rebuild-cron}, which repairs any drift.
+ */
+@Service
+@Timed("event.stats.service")
+public class EventStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventStatsService.class);
+    
+    private static final List<EventStatus> OPEN_STATUSES = List.of(EventStatus.SCHEDULED, EventStatus.IN_PROGRESS);
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private UserEventCounterRepository counterRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    // Users whose counters are rebuilt per transaction
+    @Value("${events.stats.rebuild-chunk-size:200}")
+    private int rebuildChunkSize;
+    
+    @Transactional(readOnly = true)
+    public EventStatsDto getStats(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        EventStatsDto stats = new EventStatsDto();
+        LocalDate today = LocalDate.now();
+        stats.setToday(today);
+        
+        long total = 0;
+        for (Object[] row : eventRepository.countByStatus(user.getId())) {
+            long count = (Long) row[1];
+            stats.getByStatus().put((EventStatus) row[0], count);
+            total += count;
+        }
+        stats.setTotal(total);
+        for (Object[] row : eventRepository.countByPriority(user.getId())) {
+            stats.getByPriority().put((EventPriority) row[0], (Long) row[1]);
+        }
+        for (Object[] row : eventRepository.countByCategory(user.getId())) {
+            stats.getByCategory().add(new EventStatsDto.CategoryCount((Long) row[0], (String) row[1], (Long) row[2]));
+        }
+        
+        Object[] sums = unwrap(counterRepository.sumOpenCounts(user.getId(), today, today.plusDays(7)));
+        stats.setOpen(toLong(sums[0]));
+        stats.setOverdue(toLong(sums[1]));
+        stats.setDueThisWeek(toLong(sums[2]));
+        return stats;
+    }
+    
+    /**
+     * Moves the change's event between counter buckets. Must run in the writing
+     * transaction, after the owner's calendar version has been incremented.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(CalendarEventChangedEvent change) {
+        LocalDate before = dueDate(change.getBefore());
+        LocalDate after = dueDate(change.getAfter());
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            adjust(change.getUserId(), before, -1);
+        }
+        if (after != null) {
+            adjust(change.getUserId(), after, 1);
+        }
+    }
+    
+    /**
+     * Removes events that left the open statuses outside CalendarEventService, keyed by
+     * user id and then due date. Same locking requirement as {@link #apply}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyClosed(Map<Long, Map<LocalDate, Long>> closedByUser) {
+        closedByUser.forEach((userId, byDate) ->
+                byDate.forEach((dueDate, count) -> adjust(userId, dueDate, -count)));
+    }
+    
+    // Bucket of an event snapshot, or null when it is not counted
+    private LocalDate dueDate(CalendarEventDto event) {
+        if (event == null || event.getRecurrenceRule() != null || event.getEndTime() == null) {
+            return null;
+        }
+        EventStatus status = event.getStatus() != null ? event.getStatus() : EventStatus.SCHEDULED;
+        return status.isActive() ? event.getEndTime().toLocalDate() : null;
+    }
+    
+    private void adjust(Long userId, LocalDate dueDate, long delta) {
+        if (counterRepository.addToOpenCount(userId, dueDate, delta) > 0) {
+            return;
+        }
+        if (delta > 0) {
+            counterRepository.save(new UserEventCounter(userId, dueDate, delta));
+        } else {
+            // Counted before the last rebuild saw it; the next rebuild puts it right
+            logger.debug("No counter row for user {} on {}", userId, dueDate);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (counterRepository.count() == 0) {
+            rebuildCounters();
+        }
+    }
+    
+    /**
+     * Recomputes every user's counters with one GROUP BY per chunk of users. Each chunk
+     * locks its users first, so it cannot interleave with their writes.
+     */
+    @Scheduled(cron = "${events.stats.counter-rebuild-cron:0 30 3 * * *}")
+    public void rebuildCounters() {
+        long started = System.currentTimeMillis();
+        int users = 0;
+        Long afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, rebuildChunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = userIds;
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.lockByIds(chunk);
+                counterRepository.deleteByUserIds(chunk);
+                List<UserEventCounter> counters = new ArrayList<>();
+                for (Object[] row : eventRepository.countOpenByUserAndDueDate(chunk, OPEN_STATUSES)) {
+                    counters.add(new UserEventCounter((Long) row[0], (LocalDate) row[1], (Long) row[2]));
+                }
+                counterRepository.saveAll(counters);
+            });
+            users += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == rebuildChunkSize);
+        logger.info("Rebuilt event counters of {} users in {} ms", users, System.currentTimeMillis() - started);
+    }
+    
+    // Spring Data returns a single multi-column row nested in an array
+    private static Object[] unwrap(Object[] row) {
+        return row.length == 1 && row[0] instanceof Object[] nested ? nested : row;
+    }
+    
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,137 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Moves general events forward as time passes: SCHEDULED becomes IN_PROGRESS once the
+ * event has started, and SCHEDULED or IN_PROGRESS becomes COMPLETED once it has ended.
+ * Each pass selects up to {@code events.status-sweep.chunk-size} ids with an indexed
+ * query and updates them with one set-based UPDATE in a short transaction of its own, so
+ * no entity is loaded and row locks are held only for one chunk. updatedAt is touched so
+ * delta sync picks the change up; each chunk reads the clock itself, so a long sweep does
+ * not commit rows with an updatedAt already older than the sync settle window, and the owners' calendar versions are bumped so ETags
+ * change. Completed events are taken out of the open counters kept by EventStatsService.
+ * <p>
+ * Assignments are left alone: their status is the student's progress, and past-due
+ * SCHEDULED assignments are what AssignmentEvent.isOverdue reports. Series masters are
+ * skipped because their occurrences do not have a status of their own.
+ */
+@Service
+@ConditionalOnProperty(name = "events.status-sweep.enabled", havingValue = "true", matchIfMissing = true)
+public class EventStatusSweeper {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventStatusSweeper.class);
+    
+    private static final List<EventStatus> OPEN_STATUSES = List.of(EventStatus.SCHEDULED, EventStatus.IN_PROGRESS);
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EventStatsService statsService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${events.status-sweep.chunk-size:500}")
+    private int chunkSize;
+    
+    @Scheduled(fixedDelayString = "${events.status-sweep.interval-ms:60000}",
+               initialDelayString = "${events.status-sweep.interval-ms:60000}")
+    public void sweep() {
+        int completed = sweepChunks((ids, now) -> eventRepository.completeEnded(ids, OPEN_STATUSES, EventStatus.COMPLETED, now),
+                now -> eventRepository.findEndedIdsByStatus(OPEN_STATUSES, now, PageRequest.of(0, chunkSize)),
+                this::closeCounters);
+        int started = sweepChunks((ids, now) -> eventRepository.startRunning(ids, EventStatus.SCHEDULED, EventStatus.IN_PROGRESS, now),
+                now -> eventRepository.findStartedIdsByStatus(EventStatus.SCHEDULED, now, PageRequest.of(0, chunkSize)),
+                rows -> { });
+        
+        meterRegistry.counter("events.status.swept", "status", EventStatus.COMPLETED.name()).increment(completed);
+        meterRegistry.counter("events.status.swept", "status", EventStatus.IN_PROGRESS.name()).increment(started);
+        if (completed > 0 || started > 0) {
+            logger.info("Status sweep: {} events completed, {} in progress", completed, started);
+        }
+    }
+    
+    /**
+     * Repeats select-then-update until a chunk comes back short. Updated rows no longer
+     * match the selection, so each pass sees new rows; a chunk that updates nothing (all
+     * rows changed concurrently) also ends the sweep rather than spinning.
+     */
+    private int sweepChunks(BiFunction<List<Long>, LocalDateTime, Integer> update, ChunkQuery query,
+                            Consumer<List<Object[]>> afterUpdate) {
+        int total = 0;
+        ChunkResult chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                // Truncated so that rows written in this second compare consistently
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                List<Object[]> rows = query.find(now);
+                if (rows.isEmpty()) {
+                    return new ChunkResult(0, 0);
+                }
+                List<Long> ids = new ArrayList<>(rows.size());
+                Set<Long> userIds = new LinkedHashSet<>();
+                for (Object[] row : rows) {
+                    ids.add((Long) row[0]);
+                    userIds.add((Long) row[1]);
+                }
+                int updated = update.apply(ids, now);
+                if (updated > 0) {
+                    userRepository.incrementCalendarVersions(userIds);
+                    afterUpdate.accept(rows);
+                }
+                return new ChunkResult(rows.size(), updated);
+            });
+            total += chunk.updated();
+        } while (chunk.selected() == chunkSize && chunk.updated() > 0);
+        return total;
+    }
+    
+    // Completed events leave the open counters; the selection locked its rows, so all were updated
+    private void closeCounters(List<Object[]> rows) {
+        Map<Long, Map<LocalDate, Long>> closed = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDate dueDate = ((LocalDateTime) row[2]).toLocalDate();
+            closed.computeIfAbsent((Long) row[1], userId -> new HashMap<>()).merge(dueDate, 1L, Long::sum);
+        }
+        statsService.applyClosed(closed);
+    }
+    
+    private record ChunkResult(int selected, int updated) {
+    }
+    
+    @FunctionalInterface
+    private interface ChunkQuery {
+        List<Object[]> find(LocalDateTime now);
+    }
+}
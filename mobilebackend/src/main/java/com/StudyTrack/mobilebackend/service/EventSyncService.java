@@ -0,0 +1,173 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.EventChangesDto;
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import com.StudyTrack.mobilebackend.entity.CalendarEventTombstone;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.CalendarEventTombstoneRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent.ChangeType;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Delta sync for clients that keep a local copy of the calendar. Changes are ordered by
+ * (time, kind, id) where time is the event's updatedAt or the tombstone's deletedAt and
+ * kind puts updates before deletions at the same instant; the opaque cursor is a position
+ * in that order.
+ * <p>
+ * Only rows older than the settle window are returned, so a transaction that stamped its
+ * rows before a concurrent one but commits after it cannot slip behind a cursor.
+ */
+@Service
+@Timed("event.sync.service")
+public class EventSyncService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventSyncService.class);
+    
+    static final int KIND_UPDATE = 0;
+    static final int KIND_DELETE = 1;
+    
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private CalendarEventTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CalendarEventService eventService;
+    
+    @Value("${events.sync.page-size:500}")
+    private int pageSize;
+    
+    @Value("${events.sync.settle-millis:2000}")
+    private long settleMillis;
+    
+    // Cursors older than this have lost their tombstones and restart with a full resync
+    @Value("${events.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+    
+    /**
+     * Changes after {@code since}, or the whole calendar when {@code since} is null or
+     * too old to be answered from the retained tombstones.
+     */
+    @Transactional(readOnly = true)
+    public EventChangesDto getChanges(String username, String since) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minusNanos(settleMillis * 1_000_000);
+        
+        EventChangesDto changes = new EventChangesDto();
+        Cursor cursor = since == null ? null : Cursor.decode(since);
+        if (cursor == null || cursor.validFrom().isBefore(now.minusDays(tombstoneRetentionDays))) {
+            changes.setFullResync(true);
+            cursor = new Cursor(START, KIND_DELETE, Long.MAX_VALUE, now);
+        }
+        
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<CalendarEvent> updated = eventRepository.findChangedSince(user.getId(), cursor.time(),
+                cursor.kind() == KIND_UPDATE ? cursor.id() : Long.MAX_VALUE, until, page);
+        // A full resync replaces the local copy, so deletions before it are irrelevant
+        List<CalendarEventTombstone> deleted = changes.isFullResync() ? List.of()
+                : tombstoneRepository.findChangedSince(user.getId(), cursor.time(),
+                        cursor.kind() == KIND_DELETE ? cursor.id() : Long.MIN_VALUE, until, page);
+        
+        // Merge the two ordered lists and keep the first pageSize entries
+        List<CalendarEvent> changedEvents = new ArrayList<>();
+        int u = 0;
+        int d = 0;
+        Cursor last = null;
+        while (u + d < pageSize && (u < updated.size() || d < deleted.size())) {
+            boolean takeUpdate = d == deleted.size()
+                    || (u < updated.size() && !updated.get(u).getUpdatedAt().isAfter(deleted.get(d).getDeletedAt()));
+            if (takeUpdate) {
+                CalendarEvent event = updated.get(u++);
+                changedEvents.add(event);
+                last = new Cursor(event.getUpdatedAt(), KIND_UPDATE, event.getId(), cursor.validFrom());
+            } else {
+                CalendarEventTombstone tombstone = deleted.get(d++);
+                changes.getDeleted().add(tombstone.getEventId());
+                last = new Cursor(tombstone.getDeletedAt(), KIND_DELETE, tombstone.getId(), cursor.validFrom());
+            }
+        }
+        changes.setChanged(eventService.toDtos(changedEvents));
+        changes.setHasMore(u < updated.size() || d < deleted.size());
+        
+        // Once everything up to the watermark was returned the cursor can move to the watermark itself
+        Cursor next = changes.isHasMore() ? last : new Cursor(until, KIND_DELETE, Long.MAX_VALUE, until);
+        changes.setNextCursor(next.encode());
+        return changes;
+    }
+    
+    // Runs inside the deleting transaction, so the tombstone commits or rolls back with the delete
+    @EventListener
+    public void recordDeletion(CalendarEventChangedEvent change) {
+        if (change.getType() == ChangeType.DELETED) {
+            tombstoneRepository.save(new CalendarEventTombstone(change.getEventId(), change.getUserId(), LocalDateTime.now()));
+        }
+    }
+    
+    @Scheduled(cron = "${events.sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            logger.info("Purged {} event tombstones older than {} days", purged, tombstoneRetentionDays);
+        }
+    }
+    
+    /**
+     * Position in the change order. {@code validFrom} is the oldest deletion the client
+     * still needs to hear about: the cursor time for incremental syncs, but the start of a
+     * full resync while its pages are being fetched, since those positions walk through
+     * old updatedAt values.
+     */
+    record Cursor(LocalDateTime time, int kind, long id, LocalDateTime validFrom) {
+        
+        String encode() {
+            String raw = time.toEpochSecond(ZoneOffset.UTC) + "." + time.getNano() + "." + kind + "." + id
+                    + "." + validFrom.toEpochSecond(ZoneOffset.UTC);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+        
+        static Cursor decode(String value) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII).split("\\.");
+                if (parts.length != 5) {
+                    throw new IllegalArgumentException();
+                }
+                LocalDateTime time = LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), ZoneOffset.UTC);
+                int kind = Integer.parseInt(parts[2]);
+                if (kind != KIND_UPDATE && kind != KIND_DELETE) {
+                    throw new IllegalArgumentException();
+                }
+                LocalDateTime validFrom = LocalDateTime.ofEpochSecond(Long.parseLong(parts[4]), 0, ZoneOffset.UTC);
+                return new Cursor(time, kind, Long.parseLong(parts[3]), validFrom);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid sync cursor");
+            }
+        }
+    }
+}
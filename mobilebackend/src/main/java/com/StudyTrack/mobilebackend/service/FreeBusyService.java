@@ -0,0 +1,137 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.dto.FreeBusyDto;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Busy time of a user as merged intervals. Single events are streamed from the database as
+ * (start, end) pairs in start order and merged with the expanded occurrences of recurring
+ * series in one sweep, so memory holds only the output and no event entities are built.
+ */
+@Service
+@Timed("free.busy.service")
+public class FreeBusyService {
+    
+    private static final List<EventStatus> CANCELLED_STATUSES = Arrays.stream(EventStatus.values())
+            .filter(EventStatus::isCancelled)
+            .toList();
+    
+    @Autowired
+    private CalendarEventRepository eventRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CalendarEventService eventService;
+    
+    @Value("${events.range.max-days:366}")
+    private int rangeMaxDays;
+    
+    @Transactional(readOnly = true)
+    public FreeBusyDto getFreeBusy(String username, LocalDateTime from, LocalDateTime to) {
+        return new FreeBusyDto(from, to, getBusyIntervals(username, from, to));
+    }
+    
+    /**
+     * Merged busy intervals of the user within [from, to): sorted, non-overlapping and
+     * clipped to the window. Touching intervals are merged. Cancelled and postponed events
+     * do not count as busy.
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDateTime[]> getBusyIntervals(String username, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        List<CalendarEventDto> occurrences = eventService.getOverlappingOccurrences(username, from, to);
+        Sweep sweep = new Sweep(from, to);
+        try (Stream<Object[]> rows = eventRepository.streamBusyRanges(user.getId(), from, to, CANCELLED_STATUSES)) {
+            // Two-way merge of the start-ordered rows and occurrences
+            Iterator<Object[]> iterator = rows.iterator();
+            Object[] row = iterator.hasNext() ? iterator.next() : null;
+            int next = 0;
+            while (row != null || next < occurrences.size()) {
+                if (next == occurrences.size()
+                        || (row != null && !((LocalDateTime) row[0]).isAfter(occurrences.get(next).getStartTime()))) {
+                    sweep.add((LocalDateTime) row[0], (LocalDateTime) row[1]);
+                    row = iterator.hasNext() ? iterator.next() : null;
+                } else {
+                    CalendarEventDto occurrence = occurrences.get(next++);
+                    sweep.add(occurrence.getStartTime(), occurrence.getEndTime());
+                }
+            }
+        }
+        return sweep.finish();
+    }
+    
+    void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("Range end must be after range start");
+        }
+        if (from.plusDays(rangeMaxDays).isBefore(to)) {
+            throw new RuntimeException("Range cannot span more than " + rangeMaxDays + " days");
+        }
+    }
+    
+    /**
+     * Sweep-line merge over intervals fed in start order: extends the open interval while
+     * the next one starts before it ends, otherwise emits it and opens the next.
+     */
+    static class Sweep {
+        
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final List<LocalDateTime[]> merged = new ArrayList<>();
+        private LocalDateTime start;
+        private LocalDateTime end;
+        
+        Sweep(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        void add(LocalDateTime intervalStart, LocalDateTime intervalEnd) {
+            LocalDateTime clippedStart = intervalStart.isBefore(from) ? from : intervalStart;
+            LocalDateTime clippedEnd = intervalEnd.isAfter(to) ? to : intervalEnd;
+            if (!clippedEnd.isAfter(clippedStart)) {
+                return;
+            }
+            if (start != null && !clippedStart.isAfter(end)) {
+                if (clippedEnd.isAfter(end)) {
+                    end = clippedEnd;
+                }
+                return;
+            }
+            if (start != null) {
+                merged.add(new LocalDateTime[]{start, end});
+            }
+            start = clippedStart;
+            end = clippedEnd;
+        }
+        
+        List<LocalDateTime[]> finish() {
+            if (start != null) {
+                merged.add(new LocalDateTime[]{start, end});
+                start = null;
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.BatchItemResultDto;
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.dto.IcsImportResultDto;
+import com.StudyTrack.mobilebackend.entity.AssignmentType;
+import com.StudyTrack.mobilebackend.entity.EventPriority;
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.ics.IcsParseException;
+import com.StudyTrack.mobilebackend.ics.IcsProperty;
+import com.StudyTrack.mobilebackend.ics.IcsReader;
+import com.StudyTrack.mobilebackend.ics.IcsWriter;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * iCalendar import and export. Import reads the upload one VEVENT at a time and inserts
+ * through CalendarEventService.createEvents in chunks of {@code events.import.chunk-size},
+ * so a large feed is never held in memory. If the file turns out to be malformed part way
+ * through, the events read before that point are still imported and the result carries the
+ * parse error. Export walks the user's events through the
+ * same cursor as the JSON stream and writes each one as it arrives.
+ * <p>
+ * Times are local like everywhere else in the calendar: floating and TZID times keep
+ * their wall-clock value, UTC times are converted to the server's zone. Assignment fields
+ * travel as X-STUDYTRACK-* properties so that an export imports back unchanged.
+ */
+@Service
+@Timed("ics.service")
+public class IcsService {
+    
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String UID_SUFFIX = "@studytrack";
+    private static final String DEFAULT_TITLE = "(No title)";
+    private static final int MAX_REPORTED_FAILURES = 100;
+    
+    @Autowired
+    private CalendarEventService eventService;
+    
+    @Value("${events.import.max-events:50000}")
+    private int importMaxEvents;
+    
+    // Events per createEvents call; capped at events.batch.max-size
+    @Value("${events.import.chunk-size:500}")
+    private int importChunkSize;
+    
+    @Value("${events.batch.max-size:1000}")
+    private int batchMaxSize;
+    
+    public IcsImportResultDto importIcs(String username, Reader reader) throws IOException {
+        Import state = new Import(username, Math.max(1, Math.min(importChunkSize, batchMaxSize)));
+        try {
+            new IcsReader(reader).readEvents(state::add);
+        } catch (IcsParseException e) {
+            if (state.count == 0) {
+                // Nothing usable was read, so the upload is rejected as a whole
+                throw e;
+            }
+            state.result.setParseError(e.getMessage());
+        }
+        state.finish();
+        return state.result;
+    }
+    
+    public void exportIcs(String username, Writer writer) throws IOException {
+        IcsWriter ics = new IcsWriter(writer);
+        ics.property("BEGIN", "VCALENDAR");
+        ics.property("VERSION", "2.0");
+        ics.property("PRODID", "-//StudyTrack//mobilebackend//EN");
+        ics.property("CALSCALE", "GREGORIAN");
+        try {
+            eventService.exportUserEvents(username, event -> {
+                try {
+                    writeEvent(ics, event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ics.property("END", "VCALENDAR");
+        ics.flush();
+    }
+    
+    private void writeEvent(IcsWriter ics, CalendarEventDto event) throws IOException {
+        ics.property("BEGIN", "VEVENT");
+        // Overrides share the UID of their series and are told apart by RECURRENCE-ID
+        ics.property("UID", (event.getSeriesId() != null ? event.getSeriesId() : event.getId()) + UID_SUFFIX);
+        LocalDateTime stamp = event.getUpdatedAt() != null ? event.getUpdatedAt() : LocalDateTime.now();
+        ics.property("DTSTAMP", DATE_TIME.format(stamp.atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(ZoneOffset.UTC)) + "Z");
+        ics.property("DTSTART", DATE_TIME.format(event.getStartTime()));
+        ics.property("DTEND", DATE_TIME.format(event.getEndTime()));
+        if (event.getSeriesId() != null && event.getOriginalStartTime() != null) {
+            ics.property("RECURRENCE-ID", DATE_TIME.format(event.getOriginalStartTime()));
+        }
+        ics.text("SUMMARY", event.getTitle());
+        ics.text("DESCRIPTION", event.getDescription());
+        if (event.getRecurrenceRule() != null) {
+            String rule = event.getRecurrenceRule();
+            ics.property("RRULE", rule.regionMatches(true, 0, "RRULE:", 0, 6) ? rule.substring(6) : rule);
+        }
+        if (event.getExceptionDates() != null && !event.getExceptionDates().isEmpty()) {
+            ics.property("EXDATE", event.getExceptionDates().stream()
+                    .sorted()
+                    .map(DATE_TIME::format)
+                    .collect(Collectors.joining(",")));
+        }
+        if (event.getStatus() != null) {
+            ics.property("STATUS", event.getStatus() == EventStatus.CANCELLED ? "CANCELLED" : "CONFIRMED");
+            ics.property("X-STUDYTRACK-STATUS", event.getStatus().name());
+        }
+        if (event.getPriority() != null) {
+            ics.property("PRIORITY", String.valueOf(toIcsPriority(event.getPriority())));
+        }
+        ics.property("X-STUDYTRACK-TYPE", event.getEventType());
+        if ("ASSIGNMENT".equals(event.getEventType())) {
+            ics.text("X-STUDYTRACK-SUBJECT", event.getSubject());
+            ics.text("X-STUDYTRACK-COURSE-CODE", event.getCourseCode());
+            ics.property("X-STUDYTRACK-ASSIGNMENT-TYPE", event.getAssignmentType());
+            ics.property("X-STUDYTRACK-TOTAL-POINTS",
+                    event.getTotalPoints() != null ? event.getTotalPoints().toString() : null);
+            ics.text("X-STUDYTRACK-SUBMISSION-METHOD", event.getSubmissionMethod());
+            ics.property("X-STUDYTRACK-GROUP-ASSIGNMENT", event.isGroupAssignment() ? "TRUE" : "FALSE");
+        }
+        ics.property("END", "VEVENT");
+    }
+    
+    /**
+     * State of one import. Series masters are remembered by UID once inserted so that
+     * overrides (RECURRENCE-ID) can point at them; an override read before its series is
+     * held back until the series has been inserted.
+     */
+    private class Import {
+        
+        private final String username;
+        private final int chunkSize;
+        private final IcsImportResultDto result = new IcsImportResultDto();
+        
+        private final List<CalendarEventDto> chunk = new ArrayList<>();
+        private final List<Integer> chunkIndexes = new ArrayList<>();
+        // UID of each chunk entry that is a series master, null otherwise
+        private final List<String> chunkSeriesUids = new ArrayList<>();
+        
+        private final Map<String, Long> seriesIds = new HashMap<>();
+        private final List<PendingOverride> pending = new ArrayList<>();
+        private int count;
+        
+        Import(String username, int chunkSize) {
+            this.username = username;
+            this.chunkSize = chunkSize;
+        }
+        
+        void add(List<IcsProperty> properties) {
+            int index = count++;
+            if (index >= importMaxEvents) {
+                result.setSkipped(result.getSkipped() + 1);
+                return;
+            }
+            CalendarEventDto dto;
+            String uid;
+            try {
+                dto = toDto(properties);
+                uid = first(properties, "UID") != null ? first(properties, "UID").value() : null;
+                IcsProperty recurrenceId = first(properties, "RECURRENCE-ID");
+                if (recurrenceId != null) {
+                    if (uid == null) {
+                        throw new RuntimeException("RECURRENCE-ID without UID");
+                    }
+                    dto.setOriginalStartTime(parseDateTime(recurrenceId, recurrenceId.value()));
+                    pending.add(new PendingOverride(dto, index, uid));
+                    if (seriesIds.containsKey(uid)) {
+                        queueResolvedOverrides();
+                    }
+                    return;
+                }
+            } catch (RuntimeException e) {
+                fail(index, e.getMessage());
+                return;
+            }
+            queue(dto, index, dto.getRecurrenceRule() != null ? uid : null);
+        }
+        
+        void finish() {
+            while (!chunk.isEmpty()) {
+                flush();
+            }
+            for (PendingOverride override : pending) {
+                fail(override.index(), "Series with UID " + override.uid() + " was not imported");
+            }
+            pending.clear();
+        }
+        
+        private void queue(CalendarEventDto dto, int index, String seriesUid) {
+            chunk.add(dto);
+            chunkIndexes.add(index);
+            chunkSeriesUids.add(seriesUid);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+        
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<BatchItemResultDto> results = eventService.createEvents(new ArrayList<>(chunk), username);
+            boolean newSeries = false;
+            for (int i = 0; i < results.size(); i++) {
+                BatchItemResultDto itemResult = results.get(i);
+                if (itemResult.isSuccess()) {
+                    result.setImported(result.getImported() + 1);
+                    if (chunkSeriesUids.get(i) != null) {
+                        seriesIds.putIfAbsent(chunkSeriesUids.get(i), itemResult.getEventId());
+                        newSeries = true;
+                    }
+                } else {
+                    fail(chunkIndexes.get(i), itemResult.getError());
+                }
+            }
+            chunk.clear();
+            chunkIndexes.clear();
+            chunkSeriesUids.clear();
+            if (newSeries) {
+                queueResolvedOverrides();
+            }
+        }
+        
+        private void queueResolvedOverrides() {
+            List<PendingOverride> ready = new ArrayList<>();
+            for (Iterator<PendingOverride> iterator = pending.iterator(); iterator.hasNext(); ) {
+                PendingOverride override = iterator.next();
+                if (seriesIds.containsKey(override.uid())) {
+                    ready.add(override);
+                    iterator.remove();
+                }
+            }
+            for (PendingOverride override : ready) {
+                override.dto().setSeriesId(seriesIds.get(override.uid()));
+                queue(override.dto(), override.index(), null);
+            }
+        }
+        
+        private void fail(int index, String error) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getFailures().size() < MAX_REPORTED_FAILURES) {
+                result.getFailures().add(BatchItemResultDto.failure(index, null, error));
+            }
+        }
+    }
+    
+    private record PendingOverride(CalendarEventDto dto, int index, String uid) {
+    }
+    
+    private static CalendarEventDto toDto(List<IcsProperty> properties) {
+        IcsProperty start = first(properties, "DTSTART");
+        if (start == null) {
+            throw new RuntimeException("Event has no DTSTART");
+        }
+        CalendarEventDto dto = new CalendarEventDto();
+        LocalDateTime startTime = parseDateTime(start, start.value());
+        dto.setStartTime(startTime);
+        dto.setEndTime(endTime(properties, start, startTime));
+        
+        IcsProperty summary = first(properties, "SUMMARY");
+        dto.setTitle(summary != null && !summary.text().isBlank() ? summary.text() : DEFAULT_TITLE);
+        IcsProperty description = first(properties, "DESCRIPTION");
+        IcsProperty location = first(properties, "LOCATION");
+        // There is no location field; keep it readable in the description
+        if (location != null && !location.text().isBlank()) {
+            String text = "Location: " + location.text();
+            dto.setDescription(description != null && !description.text().isBlank()
+                    ? description.text() + "\n\n" + text : text);
+        } else if (description != null) {
+            dto.setDescription(description.text());
+        }
+        
+        IcsProperty rule = first(properties, "RRULE");
+        if (rule != null) {
+            dto.setRecurrenceRule(rule.value());
+            List<LocalDateTime> exceptionDates = new ArrayList<>();
+            for (IcsProperty property : properties) {
+                if (property.name().equals("EXDATE")) {
+                    for (String value : property.value().split(",")) {
+                        exceptionDates.add(parseDateTime(property, value));
+                    }
+                }
+            }
+            dto.setExceptionDates(exceptionDates);
+        }
+        
+        dto.setStatus(status(properties));
+        IcsProperty priority = first(properties, "PRIORITY");
+        if (priority != null) {
+            dto.setPriority(fromIcsPriority(priority.value()));
+        }
+        
+        IcsProperty type = first(properties, "X-STUDYTRACK-TYPE");
+        if (type != null && type.value().equalsIgnoreCase("ASSIGNMENT")) {
+            dto.setEventType("ASSIGNMENT");
+            dto.setSubject(text(properties, "X-STUDYTRACK-SUBJECT"));
+            dto.setCourseCode(text(properties, "X-STUDYTRACK-COURSE-CODE"));
+            String assignmentType = text(properties, "X-STUDYTRACK-ASSIGNMENT-TYPE");
+            if (assignmentType != null) {
+                try {
+                    dto.setAssignmentType(AssignmentType.valueOf(assignmentType.toUpperCase(Locale.ROOT)).name());
+                } catch (IllegalArgumentException e) {
+                    // Unknown types fall back to the default
+                }
+            }
+            String totalPoints = text(properties, "X-STUDYTRACK-TOTAL-POINTS");
+            if (totalPoints != null) {
+                try {
+                    dto.setTotalPoints(Integer.valueOf(totalPoints.trim()));
+                } catch (NumberFormatException e) {
+                    throw new RuntimeException("Invalid X-STUDYTRACK-TOTAL-POINTS '" + totalPoints + "'");
+                }
+            }
+            dto.setSubmissionMethod(text(properties, "X-STUDYTRACK-SUBMISSION-METHOD"));
+            dto.setGroupAssignment("TRUE".equalsIgnoreCase(text(properties, "X-STUDYTRACK-GROUP-ASSIGNMENT")));
+        } else {
+            dto.setEventType("GENERAL");
+        }
+        return dto;
+    }
+    
+    // DTEND, else DTSTART + DURATION, else one day for all-day events and zero otherwise
+    private static LocalDateTime endTime(List<IcsProperty> properties, IcsProperty start, LocalDateTime startTime) {
+        IcsProperty end = first(properties, "DTEND");
+        if (end != null) {
+            return parseDateTime(end, end.value());
+        }
+        IcsProperty duration = first(properties, "DURATION");
+        if (duration != null) {
+            return startTime.plus(parseDuration(duration.value()));
+        }
+        return isDate(start, start.value()) ? startTime.plusDays(1) : startTime;
+    }
+    
+    private static EventStatus status(List<IcsProperty> properties) {
+        String status = text(properties, "X-STUDYTRACK-STATUS");
+        if (status != null) {
+            try {
+                return EventStatus.valueOf(status.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                // Fall back to the standard property
+            }
+        }
+        IcsProperty standard = first(properties, "STATUS");
+        return standard != null && standard.value().equalsIgnoreCase("CANCELLED")
+                ? EventStatus.CANCELLED : EventStatus.SCHEDULED;
+    }
+    
+    // RFC 5545 priorities run from 1 (highest) to 9 (lowest); 0 means undefined
+    private static int toIcsPriority(EventPriority priority) {
+        return switch (priority) {
+            case URGENT -> 1;
+            case HIGH -> 3;
+            case MEDIUM -> 5;
+            case LOW -> 9;
+        };
+    }
+    
+    private static EventPriority fromIcsPriority(String value) {
+        int level;
+        try {
+            level = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid PRIORITY '" + value + "'");
+        }
+        if (level <= 0) {
+            return EventPriority.MEDIUM;
+        }
+        if (level <= 2) {
+            return EventPriority.URGENT;
+        }
+        if (level <= 4) {
+            return EventPriority.HIGH;
+        }
+        return level == 5 ? EventPriority.MEDIUM : EventPriority.LOW;
+    }
+    
+    private static LocalDateTime parseDateTime(IcsProperty property, String value) {
+        try {
+            if (isDate(property, value)) {
+                return LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+            }
+            if (value.endsWith("Z") || value.endsWith("z")) {
+                return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                        .atOffset(ZoneOffset.UTC)
+                        .atZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            }
+            return LocalDateTime.parse(value, DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid " + property.name() + " '" + value + "'");
+        }
+    }
+    
+    private static boolean isDate(IcsProperty property, String value) {
+        return "DATE".equalsIgnoreCase(property.parameter("VALUE")) || value.length() == 8;
+    }
+    
+    // java.time.Duration does not accept weeks, which iCalendar allows on their own (P2W)
+    private static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        try {
+            if (trimmed.toUpperCase(Locale.ROOT).endsWith("W")) {
+                boolean negative = trimmed.startsWith("-");
+                String weeks = trimmed.substring(negative ? 2 : trimmed.startsWith("+") ? 2 : 1, trimmed.length() - 1);
+                Duration duration = Duration.ofDays(7L * Long.parseLong(weeks));
+                return negative ? duration.negated() : duration;
+            }
+            return Duration.parse(trimmed.startsWith("+") ? trimmed.substring(1) : trimmed);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid DURATION '" + value + "'");
+        }
+    }
+    
+    private static IcsProperty first(List<IcsProperty> properties, String name) {
+        for (IcsProperty property : properties) {
+            if (property.name().equals(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+    
+    private static String text(List<IcsProperty> properties, String name) {
+        IcsProperty property = first(properties, name);
+        return property != null ? property.text() : null;
+    }
+}
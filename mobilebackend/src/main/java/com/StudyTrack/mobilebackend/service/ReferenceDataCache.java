@@ -0,0 +1,129 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.entity.EventCategory;
+import com.StudyTrack.mobilebackend.entity.EventTag;
+import com.StudyTrack.mobilebackend.repository.EventCategoryRepository;
+import com.StudyTrack.mobilebackend.repository.EventTagRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of the EventCategory and EventTag reference tables, which event writes
+ * consult on every request but which almost never change. Lookups by id and by name are
+ * answered from memory; entries are evicted when a category or tag row is written (see
+ * ReferenceDataCacheInvalidator), with a TTL as a backstop for writes made outside the
+ * application. Cached instances are detached and shared between threads, so callers
+ * must treat them as read-only and attach them with EntityManager.getReference.
+ * Hit/miss counts are published as the "eventCategories" and "eventTags" cache metrics.
+ */
+@Component
+public class ReferenceDataCache {
+    
+    // Lazy because the entity listener pulls this bean in while the EntityManagerFactory
+    // that the repositories need is still being built
+    @Autowired
+    @Lazy
+    private EventCategoryRepository categoryRepository;
+    
+    @Autowired
+    @Lazy
+    private EventTagRepository tagRepository;
+    
+    private final Cache<Long, EventCategory> categories;
+    private final Cache<String, Long> categoryIdsByName;
+    private final Cache<Long, EventTag> tags;
+    private final Cache<String, Long> tagIdsByName;
+    
+    public ReferenceDataCache(@Value("${events.reference-cache.max-size:10000}") long maxSize,
+                              @Value("${events.reference-cache.ttl-minutes:60}") long ttlMinutes,
+                              MeterRegistry meterRegistry) {
+        this.categories = newCache(maxSize, ttlMinutes);
+        this.categoryIdsByName = newCache(maxSize, ttlMinutes);
+        this.tags = newCache(maxSize, ttlMinutes);
+        this.tagIdsByName = newCache(maxSize, ttlMinutes);
+        CaffeineCacheMetrics.monitor(meterRegistry, categories, "eventCategories");
+        CaffeineCacheMetrics.monitor(meterRegistry, tags, "eventTags");
+    }
+    
+    private static <K, V> Cache<K, V> newCache(long maxSize, long ttlMinutes) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+    
+    public Optional<EventCategory> findCategory(Long id) {
+        return Optional.ofNullable(categories.get(id, key -> categoryRepository.findById(key).orElse(null)));
+    }
+    
+    public Optional<EventCategory> findCategoryByName(String name) {
+        Long id = categoryIdsByName.get(name, key -> categoryRepository.findByName(key)
+                .map(category -> {
+                    categories.put(category.getId(), category);
+                    return category.getId();
+                })
+                .orElse(null));
+        return id != null ? findCategory(id) : Optional.empty();
+    }
+    
+    // Existing tags among the ids, in request order without duplicates; unknown ids are skipped
+    public List<EventTag> findTags(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, EventTag> found = tags.getAll(distinct, missing -> tagRepository.findAllById(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(EventTag::getId, Function.identity())));
+        List<EventTag> result = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            EventTag tag = found.get(id);
+            if (tag != null) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+    
+    public Optional<EventTag> findTag(Long id) {
+        return Optional.ofNullable(tags.get(id, key -> tagRepository.findById(key).orElse(null)));
+    }
+    
+    public Optional<EventTag> findTagByName(String name) {
+        Long id = tagIdsByName.get(name, key -> tagRepository.findByName(key)
+                .map(tag -> {
+                    tags.put(tag.getId(), tag);
+                    return tag.getId();
+                })
+                .orElse(null));
+        return id != null ? findTag(id) : Optional.empty();
+    }
+    
+    // Names can change on update, so name lookups are dropped wholesale on any write
+    public void evictCategory(Long id) {
+        if (id != null) {
+            categories.invalidate(id);
+        }
+        categoryIdsByName.invalidateAll();
+    }
+    
+    public void evictTag(Long id) {
+        if (id != null) {
+            tags.invalidate(id);
+        }
+        tagIdsByName.invalidateAll();
+    }
+}
@@ -0,0 +1,50 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.entity.EventCategory;
+import com.StudyTrack.mobilebackend.entity.EventTag;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that evicts a category or tag from ReferenceDataCache whenever the
+ * row is inserted, updated or deleted. Inserts matter too because a name lookup may have
+ * missed before. As with UserDetailsCacheInvalidator, the entry is evicted at flush and
+ * again after commit so a concurrent reload of the old row cannot survive.
+ */
+@Component
+public class ReferenceDataCacheInvalidator {
+    
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onReferenceChanged(Object entity) {
+        Runnable evict;
+        if (entity instanceof EventCategory category) {
+            Long id = category.getId();
+            evict = () -> referenceDataCache.evictCategory(id);
+        } else if (entity instanceof EventTag tag) {
+            Long id = tag.getId();
+            evict = () -> referenceDataCache.evictTag(id);
+        } else {
+            return;
+        }
+        evict.run();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
@@ -7,11 +7,14 @@ import com.StudyTrack.mobilebackend.entity.User;
 import com.StudyTrack.mobilebackend.entity.UserRole;
 import com.StudyTrack.mobilebackend.repository.UserRepository;
 import com.StudyTrack.mobilebackend.security.JwtTokenProvider;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,7 +24,8 @@ import java.util.ArrayList;
 import java.util.Optional;
 
 @Service
-public class UserService implements UserDetailsService {
+@Timed("user.service")
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
@@ -29,7 +33,9 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    // Lazy because the AuthenticationManager is itself built from this UserDetailsService
     @Autowired
+    @Lazy
     private AuthenticationManager authenticationManager;
     
     @Autowired
@@ -51,7 +57,27 @@ public class UserService implements UserDetailsService {
                 .build();
     }
     
+    /**
+     * Called by the authentication provider after a successful login whose stored hash
+     * uses a different BCrypt cost than configured, with the password hashed again.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+    
     public User registerUser(UserDto userDto) {
+        // ADMIN guards the actuator metrics, so it is only ever granted in the database
+        if (userDto.getRole() == UserRole.ADMIN) {
+            throw new RuntimeException("Administrator accounts cannot be registered");
+        }
+        
         if (userRepository.existsByUsername(userDto.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
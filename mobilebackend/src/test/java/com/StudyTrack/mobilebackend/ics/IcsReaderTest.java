@@ -0,0 +1,140 @@
+package com.StudyTrack.mobilebackend.ics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IcsReaderTest {
+    
+    private static List<List<IcsProperty>> read(String... lines) throws IOException {
+        List<List<IcsProperty>> events = new ArrayList<>();
+        new IcsReader(new StringReader(String.join("\r\n", lines) + "\r\n")).readEvents(events::add);
+        return events;
+    }
+    
+    @Test
+    void readsEveryEventInOrder() throws IOException {
+        List<List<IcsProperty>> events = read(
+                "BEGIN:VCALENDAR",
+                "VERSION:2.0",
+                "BEGIN:VEVENT",
+                "SUMMARY:First",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "SUMMARY:Second",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        
+        assertThat(events).extracting(event -> event.get(0).value()).containsExactly("First", "Second");
+    }
+    
+    @Test
+    void unfoldsContinuationLines() throws IOException {
+        List<List<IcsProperty>> events = read(
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "DESCRIPTION:This is a lo",
+                " ng description",
+                "\t that spans three lines",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        
+        assertThat(events.get(0).get(0).value()).isEqualTo("This is a long description that spans three lines");
+    }
+    
+    @Test
+    void parsesParametersIncludingQuotedValues() throws IOException {
+        List<List<IcsProperty>> events = read(
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "dtstart;tzid=Europe/Berlin:20261020T090000",
+                "ATTENDEE;CN=\"Doe; Jane: TA\";ROLE=CHAIR:mailto:jane@example.com",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        
+        IcsProperty start = events.get(0).get(0);
+        assertThat(start.name()).isEqualTo("DTSTART");
+        assertThat(start.parameter("TZID")).isEqualTo("Europe/Berlin");
+        assertThat(start.value()).isEqualTo("20261020T090000");
+        
+        IcsProperty attendee = events.get(0).get(1);
+        assertThat(attendee.parameter("CN")).isEqualTo("Doe; Jane: TA");
+        assertThat(attendee.parameter("ROLE")).isEqualTo("CHAIR");
+        assertThat(attendee.value()).isEqualTo("mailto:jane@example.com");
+    }
+    
+    @Test
+    void skipsNestedAndOtherComponents() throws IOException {
+        List<List<IcsProperty>> events = read(
+                "BEGIN:VCALENDAR",
+                "BEGIN:VTIMEZONE",
+                "TZID:Europe/Berlin",
+                "END:VTIMEZONE",
+                "BEGIN:VEVENT",
+                "SUMMARY:Exam",
+                "BEGIN:VALARM",
+                "ACTION:DISPLAY",
+                "END:VALARM",
+                "DTSTART:20261020T090000",
+                "END:VEVENT",
+                "BEGIN:VTODO",
+                "SUMMARY:Not an event",
+                "END:VTODO",
+                "END:VCALENDAR");
+        
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)).extracting(IcsProperty::name).containsExactly("SUMMARY", "DTSTART");
+    }
+    
+    @Test
+    void resolvesTextEscapes() throws IOException {
+        List<List<IcsProperty>> events = read(
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "DESCRIPTION:Bring: pens\\, paper\\; calculator\\nRoom 1\\\\2",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        
+        assertThat(events.get(0).get(0).text()).isEqualTo("Bring: pens, paper; calculator\nRoom 1\\2");
+    }
+    
+    @Test
+    void rejectsFilesThatAreNotCalendars() {
+        assertThatThrownBy(() -> read("BEGIN:VEVENT", "END:VEVENT"))
+                .hasMessageContaining("expected BEGIN:VCALENDAR on line 1");
+        assertThatThrownBy(() -> read(""))
+                .hasMessageContaining("Not an iCalendar file");
+    }
+    
+    @Test
+    void rejectsMalformedLinesWithTheirNumber() {
+        assertThatThrownBy(() -> read("BEGIN:VCALENDAR", "BEGIN:VEVENT", "no separator", "END:VEVENT"))
+                .hasMessage("Malformed iCalendar line 3");
+        // A folded line is reported by its first physical line
+        assertThatThrownBy(() -> read("BEGIN:VCALENDAR", "BEGIN:VEVENT", "no", " separator", "END:VEVENT"))
+                .hasMessage("Malformed iCalendar line 3");
+        assertThatThrownBy(() -> read("BEGIN:VCALENDAR", "X-TEST;CN=\"open quote:value"))
+                .hasMessage("Malformed parameter on iCalendar line 2");
+    }
+    
+    @Test
+    void deliversEventsBeforeALaterError() {
+        List<List<IcsProperty>> events = new ArrayList<>();
+        String ics = String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "SUMMARY:Kept",
+                "END:VEVENT",
+                "garbage") + "\r\n";
+        
+        assertThatThrownBy(() -> new IcsReader(new StringReader(ics)).readEvents(events::add))
+                .hasMessage("Malformed iCalendar line 5");
+        assertThat(events).hasSize(1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.StudyTrack.mobilebackend.ics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IcsWriterTest {
+    
+    private static String write(String description) throws IOException {
+        StringWriter out = new StringWriter();
+        IcsWriter ics = new IcsWriter(out);
+        ics.property("BEGIN", "VCALENDAR");
+        ics.property("BEGIN", "VEVENT");
+        ics.text("SUMMARY", "Exam");
+        ics.text("DESCRIPTION", description);
+        ics.property("LOCATION", null);
+        ics.property("END", "VEVENT");
+        ics.property("END", "VCALENDAR");
+        ics.flush();
+        return out.toString();
+    }
+    
+    private static List<IcsProperty> readBack(String ics) throws IOException {
+        List<List<IcsProperty>> events = new ArrayList<>();
+        new IcsReader(new StringReader(ics)).readEvents(events::add);
+        assertThat(events).hasSize(1);
+        return events.get(0);
+    }
+    
+    @Test
+    void linesEndWithCrlfAndNullValuesAreOmitted() throws IOException {
+        String ics = write("short");
+        
+        assertThat(ics).isEqualTo("BEGIN:VCALENDAR\r\nBEGIN:VEVENT\r\nSUMMARY:Exam\r\nDESCRIPTION:short\r\n"
+                + "END:VEVENT\r\nEND:VCALENDAR\r\n");
+    }
+    
+    @Test
+    void foldsAtSeventyFiveOctetsWithoutSplittingCharacters() throws IOException {
+        String description = "Prüfungsvorbereitung für Maßtheorie und Übungsblätter ".repeat(6) + "😀 end";
+        String ics = write(description);
+        
+        for (String line : ics.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+            assertThat(Character.isHighSurrogate(line.charAt(line.length() - 1))).isFalse();
+        }
+        assertThat(ics.split("\r\n")).hasSizeGreaterThan(7);
+    }
+    
+    @Test
+    void roundTripsTextThroughTheReader() throws IOException {
+        String description = "Bring: pens, paper; calculator\nRoom 1\\2\r\nand a very long line of text that needs folding "
+                + "because it goes on and on past seventy-five octets, with ümlauts and emoji 😀 as well";
+        
+        List<IcsProperty> event = readBack(write(description));
+        
+        assertThat(event).extracting(IcsProperty::name).containsExactly("SUMMARY", "DESCRIPTION");
+        assertThat(event.get(1).text()).isEqualTo(description.replace("\r\n", "\n"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.StudyTrack.mobilebackend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventIdBitmapTest {
+    
+    private static List<Long> ids(EventIdBitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+    
+    private static EventIdBitmap of(Iterable<Long> ids) {
+        EventIdBitmap bitmap = new EventIdBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+    
+    @Test
+    void addRemoveAndContains() {
+        EventIdBitmap bitmap = new EventIdBitmap();
+        
+        assertThat(bitmap.add(5)).isTrue();
+        assertThat(bitmap.add(5)).isFalse();
+        assertThat(bitmap.add(70_000)).isTrue();
+        assertThat(bitmap.contains(5)).isTrue();
+        assertThat(bitmap.contains(6)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+        
+        assertThat(bitmap.remove(6)).isFalse();
+        assertThat(bitmap.remove(5)).isTrue();
+        assertThat(bitmap.remove(70_000)).isTrue();
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+    
+    @Test
+    void idsComeOutInAscendingOrderAcrossContainers() {
+        EventIdBitmap bitmap = of(List.of(200_000L, 3L, 65_536L, 65_535L, 1L << 40));
+        
+        assertThat(ids(bitmap)).containsExactly(3L, 65_535L, 65_536L, 200_000L, 1L << 40);
+    }
+    
+    @Test
+    void convertsToBitmapAbove4096AndBackAtOrBelow() {
+        EventIdBitmap bitmap = new EventIdBitmap();
+        for (long id = 0; id < 4096; id++) {
+            bitmap.add(id * 2);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(4096);
+        
+        // The 4097th value turns the array container into a bitmap container
+        assertThat(bitmap.add(1)).isTrue();
+        assertThat(bitmap.add(1)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(4097);
+        assertThat(bitmap.contains(1)).isTrue();
+        assertThat(bitmap.contains(3)).isFalse();
+        
+        // Back to 4096 turns it into an array again, with the same content
+        assertThat(bitmap.remove(1)).isTrue();
+        assertThat(bitmap.remove(1)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(4096);
+        assertThat(ids(bitmap)).hasSize(4096).startsWith(0L, 2L, 4L).endsWith(8190L);
+        assertThat(bitmap.add(3)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(4097);
+    }
+    
+    @Test
+    void andKeepsCommonIds() {
+        EventIdBitmap a = of(List.of(1L, 2L, 3L, 70_000L, 140_000L));
+        EventIdBitmap b = of(List.of(2L, 3L, 4L, 140_000L, 210_000L));
+        
+        assertThat(ids(EventIdBitmap.and(a, b))).containsExactly(2L, 3L, 140_000L);
+        assertThat(EventIdBitmap.and(a, new EventIdBitmap()).isEmpty()).isTrue();
+    }
+    
+    @Test
+    void orKeepsAllIdsWithoutChangingTheInputs() {
+        EventIdBitmap a = of(List.of(1L, 70_000L));
+        EventIdBitmap b = of(List.of(2L, 70_000L, 140_000L));
+        
+        EventIdBitmap union = EventIdBitmap.or(a, b);
+        union.add(99);
+        
+        assertThat(ids(union)).containsExactly(1L, 2L, 99L, 70_000L, 140_000L);
+        assertThat(ids(a)).containsExactly(1L, 70_000L);
+        assertThat(ids(b)).containsExactly(2L, 70_000L, 140_000L);
+    }
+    
+    @Test
+    void andAndOrOfDenseContainersConvertAtTheThreshold() {
+        // Two bitmap containers of 8192 values whose intersection is exactly 4096 values
+        TreeSet<Long> evens = new TreeSet<>();
+        TreeSet<Long> low = new TreeSet<>();
+        for (long id = 0; id < 16_384; id++) {
+            if (id % 2 == 0) {
+                evens.add(id);
+            }
+            if (id < 8192) {
+                low.add(id);
+            }
+        }
+        EventIdBitmap and = EventIdBitmap.and(of(evens), of(low));
+        EventIdBitmap or = EventIdBitmap.or(of(evens), of(low));
+        
+        TreeSet<Long> expectedAnd = new TreeSet<>(evens);
+        expectedAnd.retainAll(low);
+        TreeSet<Long> expectedOr = new TreeSet<>(evens);
+        expectedOr.addAll(low);
+        assertThat(ids(and)).containsExactlyElementsOf(expectedAnd);
+        assertThat(ids(or)).containsExactlyElementsOf(expectedOr);
+        
+        // Results stay mutable on either side of the threshold
+        and.remove(0);
+        or.remove(0);
+        assertThat(and.cardinality()).isEqualTo(expectedAnd.size() - 1);
+        assertThat(or.cardinality()).isEqualTo(expectedOr.size() - 1);
+    }
+    
+    @Test
+    void matchesTreeSetUnderRandomOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Narrow ranges produce dense bitmap containers, wide ones sparse array containers
+            int range = round % 2 == 0 ? 20_000 : 1_000_000;
+            TreeSet<Long> expectedA = new TreeSet<>();
+            TreeSet<Long> expectedB = new TreeSet<>();
+            EventIdBitmap a = new EventIdBitmap();
+            EventIdBitmap b = new EventIdBitmap();
+            for (int i = 0; i < 20_000; i++) {
+                long id = random.nextInt(range);
+                boolean add = random.nextInt(4) != 0;
+                TreeSet<Long> expected = random.nextBoolean() ? expectedA : expectedB;
+                EventIdBitmap bitmap = expected == expectedA ? a : b;
+                assertThat(add ? bitmap.add(id) : bitmap.remove(id)).isEqualTo(add ? expected.add(id) : expected.remove(id));
+            }
+            
+            TreeSet<Long> intersection = new TreeSet<>(expectedA);
+            intersection.retainAll(expectedB);
+            TreeSet<Long> union = new TreeSet<>(expectedA);
+            union.addAll(expectedB);
+            assertThat(ids(a)).containsExactlyElementsOf(expectedA);
+            assertThat(a.cardinality()).isEqualTo(expectedA.size());
+            assertThat(ids(EventIdBitmap.and(a, b))).containsExactlyElementsOf(intersection);
+            assertThat(ids(EventIdBitmap.or(a, b))).containsExactlyElementsOf(union);
+        }
+    }
+}
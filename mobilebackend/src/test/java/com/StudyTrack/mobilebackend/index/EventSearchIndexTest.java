@@ -0,0 +1,143 @@
+package com.StudyTrack.mobilebackend.index;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent;
+import com.StudyTrack.mobilebackend.service.CalendarEventChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventSearchIndexTest {
+    
+    private static final long ALICE = 1L;
+    private static final long BOB = 2L;
+    
+    private EventSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+        // Skips the startup rebuild, which reads the database
+        ReflectionTestUtils.setField(index, "ready", true);
+    }
+    
+    private void put(long userId, long eventId, String title, String description) {
+        put(userId, eventId, title, description, null);
+    }
+    
+    private void put(long userId, long eventId, String title, String description, String courseCode) {
+        CalendarEventDto event = new CalendarEventDto();
+        event.setTitle(title);
+        event.setDescription(description);
+        event.setCourseCode(courseCode);
+        index.onEventChanged(new CalendarEventChangedEvent(ChangeType.CREATED, eventId, userId, null, event));
+    }
+    
+    @Test
+    void rejectsSearchesWhileLoading() {
+        EventSearchIndex loading = new EventSearchIndex();
+        
+        assertThatThrownBy(() -> loading.search(ALICE, "exam", 10))
+                .hasMessageContaining("still loading");
+    }
+    
+    @Test
+    void queryTermsMatchByPrefix() {
+        put(ALICE, 1, "Calculus lecture", null);
+        put(ALICE, 2, "Chemistry lab", null);
+        
+        assertThat(index.search(ALICE, "calc", 10)).containsExactly(1L);
+        assertThat(index.search(ALICE, "c", 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search(ALICE, "lecturer", 10)).isEmpty();
+    }
+    
+    @Test
+    void everyQueryTermMustMatch() {
+        put(ALICE, 1, "Calculus exam", null);
+        put(ALICE, 2, "Physics exam", null);
+        
+        assertThat(index.search(ALICE, "exam calc", 10)).containsExactly(1L);
+        assertThat(index.search(ALICE, "exam biology", 10)).isEmpty();
+    }
+    
+    @Test
+    void exactTermRanksAbovePrefix() {
+        put(ALICE, 1, "Exam", null);
+        put(ALICE, 2, "Examination", null);
+        
+        assertThat(index.search(ALICE, "exam", 10)).containsExactly(1L, 2L);
+    }
+    
+    @Test
+    void titleRanksAboveDescription() {
+        put(ALICE, 1, "Weekly meeting", "physics");
+        put(ALICE, 2, "Physics", "weekly");
+        
+        assertThat(index.search(ALICE, "physics", 10)).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void tiesPutNewerEventsFirstAndLimitApplies() {
+        put(ALICE, 1, "Lab", null);
+        put(ALICE, 2, "Lab", null);
+        put(ALICE, 3, "Lab", null);
+        
+        assertThat(index.search(ALICE, "lab", 2)).containsExactly(3L, 2L);
+    }
+    
+    @Test
+    void foldsCaseAndDiacritics() {
+        put(ALICE, 1, "Übung Maßtheorie", "Café");
+        
+        assertThat(index.search(ALICE, "UBUNG", 10)).containsExactly(1L);
+        assertThat(index.search(ALICE, "cafe", 10)).containsExactly(1L);
+    }
+    
+    @Test
+    void termsLongerThanTheIndexedLengthStillMatch() {
+        String word = "pneumonoultramicroscopicsilicovolcanoconiosis";
+        put(ALICE, 1, "Essay on " + word, null);
+        
+        assertThat(index.search(ALICE, word, 10)).containsExactly(1L);
+        assertThat(index.search(ALICE, word + "xyz", 10)).containsExactly(1L);
+    }
+    
+    @Test
+    void courseCodeIsFindableWithoutSeparator() {
+        put(ALICE, 1, "Homework", null, "CS-101");
+        
+        assertThat(index.search(ALICE, "cs101", 10)).containsExactly(1L);
+        assertThat(index.search(ALICE, "cs 101", 10)).containsExactly(1L);
+    }
+    
+    @Test
+    void updatesAndDeletesAreApplied() {
+        put(ALICE, 1, "Calculus", null);
+        put(ALICE, 1, "Algebra", null);
+        
+        assertThat(index.search(ALICE, "calculus", 10)).isEmpty();
+        assertThat(index.search(ALICE, "algebra", 10)).containsExactly(1L);
+        
+        index.onEventChanged(new CalendarEventChangedEvent(ChangeType.DELETED, 1L, ALICE, null, null));
+        assertThat(index.search(ALICE, "algebra", 10)).isEmpty();
+    }
+    
+    @Test
+    void usersOnlySeeTheirOwnEvents() {
+        put(ALICE, 1, "Calculus", null);
+        put(BOB, 2, "Calculus", null);
+        
+        assertThat(index.search(ALICE, "calculus", 10)).containsExactly(1L);
+        assertThat(index.search(3L, "calculus", 10)).isEmpty();
+    }
+    
+    @Test
+    void blankQueryMatchesNothing() {
+        put(ALICE, 1, "Calculus", null);
+        
+        assertThat(index.search(ALICE, " -- ", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.StudyTrack.mobilebackend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+    
+    private static List<Long> query(IntervalTree tree, long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        tree.query(from, to, ids::add);
+        return ids;
+    }
+    
+    @Test
+    void overlapIsInclusiveAtBothEnds() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, 10, 20);
+        
+        assertThat(query(tree, 0, 9)).isEmpty();
+        assertThat(query(tree, 0, 10)).containsExactly(1L);
+        assertThat(query(tree, 20, 30)).containsExactly(1L);
+        assertThat(query(tree, 21, 30)).isEmpty();
+        assertThat(query(tree, 15, 15)).containsExactly(1L);
+    }
+    
+    @Test
+    void reportsInStartOrder() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(3, 30, 40);
+        tree.insert(1, 10, 100);
+        tree.insert(2, 20, 25);
+        
+        assertThat(query(tree, 22, 35)).containsExactly(1L, 2L, 3L);
+    }
+    
+    @Test
+    void sameStartIsKeptPerId() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, 10, 20);
+        tree.insert(2, 10, 15);
+        
+        assertThat(tree.remove(2, 10)).isTrue();
+        assertThat(query(tree, 10, 10)).containsExactly(1L);
+        assertThat(tree.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void removeNeedsMatchingStart() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, 10, 20);
+        
+        assertThat(tree.remove(1, 11)).isFalse();
+        assertThat(tree.remove(2, 10)).isFalse();
+        assertThat(tree.remove(1, 10)).isTrue();
+        assertThat(tree.size()).isZero();
+        assertThat(query(tree, 0, 100)).isEmpty();
+    }
+    
+    @Test
+    void removingTheLongestIntervalShrinksSubtreeMaximum() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, 0, 1000);
+        for (int i = 2; i < 50; i++) {
+            tree.insert(i, i * 10, i * 10 + 5);
+        }
+        
+        assertThat(query(tree, 900, 900)).containsExactly(1L);
+        tree.remove(1, 0);
+        assertThat(query(tree, 900, 900)).isEmpty();
+    }
+    
+    @Test
+    void matchesLinearScanUnderRandomChanges() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, long[]> intervals = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            long id = random.nextInt(300);
+            long[] existing = intervals.remove(id);
+            if (existing != null) {
+                assertThat(tree.remove(id, existing[0])).isTrue();
+            }
+            if (random.nextBoolean()) {
+                long start = random.nextInt(1000);
+                long end = start + random.nextInt(100);
+                tree.insert(id, start, end);
+                intervals.put(id, new long[]{start, end});
+            }
+            
+            long from = random.nextInt(1100);
+            long to = from + random.nextInt(50);
+            List<Long> expected = intervals.entrySet().stream()
+                    .filter(entry -> entry.getValue()[0] <= to && entry.getValue()[1] >= from)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(query(tree, from, to)).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(tree.size()).isEqualTo(intervals.size());
+        }
+    }
+}
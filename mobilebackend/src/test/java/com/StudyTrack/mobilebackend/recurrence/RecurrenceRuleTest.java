@@ -0,0 +1,109 @@
+package com.StudyTrack.mobilebackend.recurrence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+    
+    // A Monday
+    private static final LocalDateTime FIRST = LocalDateTime.of(2026, 1, 5, 9, 0);
+    
+    private static List<LocalDateTime> expand(String rule, LocalDateTime first, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        RecurrenceRule.parse(rule).expand(first, from, to, starts::add);
+        return starts;
+    }
+    
+    private static LocalDateTime at(int month, int day) {
+        return LocalDateTime.of(2026, month, day, 9, 0);
+    }
+    
+    @Test
+    void countLimitsTheSeries() {
+        assertThat(expand("FREQ=DAILY;COUNT=3", FIRST, FIRST, FIRST.plusYears(1)))
+                .containsExactly(at(1, 5), at(1, 6), at(1, 7));
+    }
+    
+    @Test
+    void countIsKeptWhenTheWindowStartsMidSeries() {
+        assertThat(expand("FREQ=DAILY;COUNT=3", FIRST, at(1, 7), FIRST.plusYears(1)))
+                .containsExactly(at(1, 7));
+        assertThat(expand("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=5", FIRST, at(1, 13), FIRST.plusYears(1)))
+                .containsExactly(at(1, 14), at(1, 19));
+    }
+    
+    @Test
+    void untilIsInclusiveAndAcceptsUtcSuffix() {
+        assertThat(expand("FREQ=DAILY;UNTIL=20260107T090000", FIRST, FIRST, FIRST.plusYears(1)))
+                .containsExactly(at(1, 5), at(1, 6), at(1, 7));
+        assertThat(expand("FREQ=DAILY;UNTIL=20260107T085959Z", FIRST, FIRST, FIRST.plusYears(1)))
+                .containsExactly(at(1, 5), at(1, 6));
+    }
+    
+    @Test
+    void byDayRepeatsOnEachListedWeekday() {
+        assertThat(expand("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=4", FIRST, FIRST, FIRST.plusYears(1)))
+                .containsExactly(at(1, 5), at(1, 7), at(1, 12), at(1, 14));
+    }
+    
+    @Test
+    void byDaySkipsWeekdaysBeforeTheFirstOccurrence() {
+        // First occurrence on a Wednesday: Monday of that week is not part of the series
+        assertThat(expand("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=3", at(1, 7), at(1, 1), FIRST.plusYears(1)))
+                .containsExactly(at(1, 7), at(1, 12), at(1, 14));
+    }
+    
+    @Test
+    void intervalSkipsPeriods() {
+        assertThat(expand("FREQ=WEEKLY;INTERVAL=2;BYDAY=FR", at(1, 9), at(1, 1), at(2, 7)))
+                .containsExactly(at(1, 9), at(1, 23), at(2, 6));
+    }
+    
+    @Test
+    void windowIsHalfOpen() {
+        assertThat(expand("FREQ=DAILY", FIRST, at(1, 6), at(1, 8)))
+                .containsExactly(at(1, 6), at(1, 7));
+    }
+    
+    @Test
+    void longRunningSeriesJumpsToTheWindow() {
+        LocalDateTime first = LocalDateTime.of(2022, 1, 3, 9, 0);
+        assertThat(expand("FREQ=DAILY;INTERVAL=3", first, at(3, 1), at(3, 7)))
+                .hasSize(2)
+                .allSatisfy(start -> assertThat(start.getHour()).isEqualTo(9));
+    }
+    
+    @Test
+    void monthlyAndYearlySkipMissingDays() {
+        assertThat(expand("FREQ=MONTHLY;COUNT=3", LocalDateTime.of(2026, 1, 31, 9, 0), at(1, 1), LocalDateTime.of(2027, 1, 1, 0, 0)))
+                .containsExactly(at(1, 31), at(3, 31), at(5, 31));
+        assertThat(expand("FREQ=YEARLY;COUNT=2", LocalDateTime.of(2024, 2, 29, 9, 0), LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2033, 1, 1, 0, 0)))
+                .containsExactly(LocalDateTime.of(2024, 2, 29, 9, 0), LocalDateTime.of(2028, 2, 29, 9, 0));
+    }
+    
+    @Test
+    void upperBoundOfCountedSeriesIsTheLastOccurrence() {
+        assertThat(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=4").upperBound(FIRST)).isEqualTo(at(1, 14));
+        assertThat(RecurrenceRule.parse("FREQ=DAILY").upperBound(FIRST)).isNull();
+    }
+    
+    @Test
+    void rejectsUnsupportedRules() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20260110T000000"))
+                .hasMessageContaining("COUNT and UNTIL cannot be combined");
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"))
+                .hasMessageContaining("BYDAY is only supported with FREQ=WEEKLY");
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYMONTH=1"))
+                .hasMessageContaining("BYMONTH is not supported");
+        assertThatThrownBy(() -> RecurrenceRule.parse("COUNT=2"))
+                .hasMessageContaining("FREQ is required");
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=0"))
+                .hasMessageContaining("COUNT must be between 1 and");
+    }
+}
@@ -0,0 +1,137 @@
+package com.StudyTrack.mobilebackend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+    
+    // Deadline each value fired at, checked against the tick the wheel was on
+    private static Map<Long, Long> advance(TimingWheel<Long> wheel, long toTick) {
+        Map<Long, Long> fired = new HashMap<>();
+        wheel.advance(toTick, value -> fired.put(value, wheel.currentTick()));
+        return fired;
+    }
+    
+    @Test
+    void firesAtTheDeadlineAndNotBefore() {
+        TimingWheel<Long> wheel = new TimingWheel<>(100);
+        wheel.schedule(105, 105L);
+        
+        assertThat(advance(wheel, 104)).isEmpty();
+        assertThat(advance(wheel, 105)).containsEntry(105L, 105L);
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(100);
+        wheel.schedule(50, 50L);
+        wheel.schedule(100, 100L);
+        
+        assertThat(advance(wheel, 101)).containsOnlyKeys(50L, 100L).containsValues(101L);
+    }
+    
+    @Test
+    void cascadesAcrossLevelWraps() {
+        long start = 4000;
+        TimingWheel<Long> wheel = new TimingWheel<>(start);
+        // Deadlines on both sides of the level 1 (4096), level 2 (262144) and level 3 (2^24) boundaries
+        long[] deadlines = {4001, 4095, 4096, 4097, 4160, 8191, 8192, 262143, 262144, 262145, 1L << 24, (1L << 24) + 65};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        
+        Map<Long, Long> fired = advance(wheel, (1L << 24) + 100);
+        
+        assertThat(fired).hasSize(deadlines.length);
+        fired.forEach((deadline, tick) -> assertThat(tick).as("deadline %d", deadline).isEqualTo(deadline));
+    }
+    
+    @Test
+    void expiresInDeadlineOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        long[] deadlines = {300_000, 70, 4100, 64, 1, 262_144};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        
+        List<Long> order = new ArrayList<>();
+        wheel.advance(300_000, order::add);
+        
+        assertThat(order).containsExactly(1L, 64L, 70L, 4100L, 262_144L, 300_000L);
+    }
+    
+    @Test
+    void cancelledTimeoutsDoNotFire() {
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        TimingWheel.Timeout<Long> cancelled = wheel.schedule(5000, 1L);
+        TimingWheel.Timeout<Long> kept = wheel.schedule(5000, 2L);
+        
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advance(wheel, 5000)).containsOnlyKeys(2L);
+        assertThat(wheel.cancel(kept)).isFalse();
+    }
+    
+    @Test
+    void matchesDeadlinesUnderRandomSchedulingAndAdvancing() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(random.nextInt(1 << 20));
+        Map<Long, Long> deadlines = new HashMap<>();
+        long nextValue = 0;
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 20; i++) {
+                long deadline = wheel.currentTick() + 1 + random.nextInt(1 << (6 + random.nextInt(15)));
+                wheel.schedule(deadline, nextValue);
+                deadlines.put(nextValue++, deadline);
+            }
+            Map<Long, Long> fired = advance(wheel, wheel.currentTick() + random.nextInt(1 << 14));
+            fired.forEach((value, tick) -> assertThat(tick).isEqualTo(deadlines.remove(value)));
+            deadlines.values().forEach(deadline -> assertThat(deadline).isGreaterThan(wheel.currentTick()));
+            assertThat(wheel.size()).isEqualTo(deadlines.size());
+        }
+    }
+    
+    @Test
+    void firesDeadlinesAcrossTheTopLevelBoundary() {
+        long boundary = 1L << 36;
+        TimingWheel<Long> wheel = new TimingWheel<>(boundary - 10);
+        // Near deadlines whose high digits differ from the current tick go through the overflow list
+        long[] deadlines = {boundary - 3, boundary, boundary + 1, boundary + 64, boundary + 4099};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        TimingWheel.Timeout<Long> cancelled = wheel.schedule(boundary + 7, -1L);
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        
+        Map<Long, Long> fired = advance(wheel, boundary + 5000);
+        
+        assertThat(fired).hasSize(deadlines.length);
+        fired.forEach((deadline, tick) -> assertThat(tick).as("deadline %d", deadline).isEqualTo(deadline));
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void rejectsDeadlinesBeyondTheWheelSpan() {
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        
+        assertThatThrownBy(() -> wheel.schedule(1L << 36, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        
+        long start = (1L << 36) - 10;
+        TimingWheel<Long> late = new TimingWheel<>(start);
+        late.schedule(start + (1L << 36) - 1, 1L);
+        assertThatThrownBy(() -> late.schedule(start + (1L << 36), 2L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(late.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.StudyTrack.mobilebackend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    private BoundedPasswordEncoder encoder;
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+    
+    // A password whose hashing holds its thread until the test releases it
+    private CharSequence blockingPassword() {
+        return new CharSequence() {
+            @Override
+            public int length() {
+                return toString().length();
+            }
+            
+            @Override
+            public char charAt(int index) {
+                return toString().charAt(index);
+            }
+            
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return toString().subSequence(start, end);
+            }
+            
+            @Override
+            public String toString() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "password123";
+            }
+        };
+    }
+    
+    private double rejected(String reason) {
+        return registry.get("password.hash.rejected").tag("reason", reason).counter().count();
+    }
+    
+    @Test
+    void encodesAndMatchesWithMetrics() {
+        encoder = new BoundedPasswordEncoder(4, 2, 10, 5000, registry);
+        
+        String hash = encoder.encode("password123");
+        
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(registry.get("password.hash.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("password.hash.queue").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+    
+    @Test
+    void rejectsWorkBeyondTheQueueAtOnce() throws Exception {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 10_000, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode(blockingPassword()));
+        awaitGauge("password.hash.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode(blockingPassword()));
+        awaitGauge("password.hash.queued", 1);
+        
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("password123"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        assertThat(rejected("queue_full")).isEqualTo(1);
+        
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+    }
+    
+    @Test
+    void stopsWaitingAfterTheTimeout() {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 100, registry);
+        
+        assertThatThrownBy(() -> encoder.encode(blockingPassword()))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(rejected("timeout")).isEqualTo(1);
+    }
+    
+    @Test
+    void delegateErrorsPropagateUnchanged() {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 5000, registry);
+        
+        assertThatThrownBy(() -> encoder.matches(null, "$2a$04$abc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void upgradeEncodingFlagsHashesOfAnotherCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 1, 5000, registry);
+        
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password123"))).isFalse();
+        assertThat(encoder.upgradeEncoding("$2b$05$" + "a".repeat(53))).isFalse();
+        assertThat(encoder.upgradeEncoding("$2y$10$" + "a".repeat(53))).isTrue();
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+    
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get(name).gauge().value() != value) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(name + " did not reach " + value);
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.CalendarEventDto;
+import com.StudyTrack.mobilebackend.entity.CalendarEvent;
+import com.StudyTrack.mobilebackend.entity.GeneralEvent;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+// Expansion of series masters: exception dates (EXDATE) and overriding events skip occurrences
+@ExtendWith(MockitoExtension.class)
+class CalendarEventServiceOccurrencesTest {
+    
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 5, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 10, 0, 0);
+    
+    @Mock
+    private CalendarEventRepository eventRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @InjectMocks
+    private CalendarEventService eventService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(eventService, "rangeMaxDays", 366);
+        GeneralEvent master = new GeneralEvent("Standup", null, at(5), at(5).plusMinutes(15));
+        master.setId(7L);
+        master.setRecurrenceRule("FREQ=DAILY;COUNT=5");
+        lenient().when(userRepository.existsByUsername("alice")).thenReturn(true);
+        lenient().when(eventRepository.findByUsernameAndStartTimeBetween("alice", FROM, TO)).thenReturn(List.of());
+        lenient().when(eventRepository.findSeriesByUsernameInWindow("alice", FROM, TO)).thenReturn(List.<CalendarEvent>of(master));
+    }
+    
+    private static LocalDateTime at(int day) {
+        return LocalDateTime.of(2026, 1, day, 9, 0);
+    }
+    
+    private List<LocalDateTime> starts() {
+        return eventService.getEventsInRange("alice", FROM, TO).stream()
+                .map(CalendarEventDto::getStartTime)
+                .toList();
+    }
+    
+    @Test
+    void expandsEveryOccurrenceInTheWindow() {
+        assertThat(starts()).containsExactly(at(5), at(6), at(7), at(8), at(9));
+    }
+    
+    @Test
+    void exceptionDatesAreSkipped() {
+        when(eventRepository.findExceptionDatePairsByEventIds(List.of(7L)))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, at(6)}, new Object[]{7L, at(8)}));
+        
+        assertThat(starts()).containsExactly(at(5), at(7), at(9));
+    }
+    
+    @Test
+    void overriddenOccurrencesAreSkipped() {
+        when(eventRepository.findOverriddenStarts(anyCollection(), eq(FROM), eq(TO)))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, at(7)}));
+        
+        assertThat(starts()).containsExactly(at(5), at(6), at(8), at(9));
+    }
+    
+    @Test
+    void occurrencesKeepTheMasterDuration() {
+        List<CalendarEventDto> events = eventService.getEventsInRange("alice", FROM, TO);
+        
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getId()).isEqualTo(7L);
+            assertThat(event.getEndTime()).isEqualTo(event.getStartTime().plusMinutes(15));
+        });
+    }
+    
+    @Test
+    void unknownUsersAreRejected() {
+        assertThatThrownBy(() -> eventService.getEventsInRange("bob", FROM, TO)).hasMessage("User not found");
+        assertThatThrownBy(() -> eventService.getTodayEvents("bob")).hasMessage("User not found");
+        assertThatThrownBy(() -> eventService.getUpcomingEvents("bob")).hasMessage("User not found");
+    }
+}
@@ -0,0 +1,113 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.CommonSlotsDto;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Only users who share their free/busy time may be searched together
+@ExtendWith(MockitoExtension.class)
+class CommonSlotServiceAccessTest {
+    
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 5, 8, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 5, 18, 0);
+    
+    @Mock
+    private FreeBusyService freeBusyService;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @InjectMocks
+    private CommonSlotService commonSlotService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(commonSlotService, "maxUsers", 50);
+        ReflectionTestUtils.setField(commonSlotService, "parallelism", 2);
+        commonSlotService.init();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user(1L, "alice")));
+    }
+    
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+    
+    @Test
+    void searchesUsersWhoShare() {
+        when(userRepository.findFreeBusySharedIds(Set.of(2L))).thenReturn(List.of(2L));
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user(1L, "alice"), user(2L, "bob")));
+        when(freeBusyService.getBusyIntervals(any(), eq(FROM), eq(TO))).thenReturn(List.of());
+        
+        CommonSlotsDto slots = commonSlotService.findCommonSlots("alice", List.of(2L), FROM, TO, 30);
+        
+        assertThat(slots.getUserIds()).containsExactly(1L, 2L);
+        verify(freeBusyService).getBusyIntervals("bob", FROM, TO);
+    }
+    
+    @Test
+    void rejectsUsersWhoDoNotShare() {
+        when(userRepository.findFreeBusySharedIds(Set.of(2L, 3L))).thenReturn(List.of(2L));
+        
+        assertThatThrownBy(() -> commonSlotService.findCommonSlots("alice", List.of(2L, 3L), FROM, TO, 30))
+                .hasMessage("Common slots can only be searched with users who share their free/busy time");
+        verify(freeBusyService, never()).getBusyIntervals(any(), any(), any());
+    }
+    
+    @Test
+    void unknownUsersGetTheSameError() {
+        when(userRepository.findFreeBusySharedIds(Set.of(99L))).thenReturn(List.of());
+        
+        assertThatThrownBy(() -> commonSlotService.findCommonSlots("alice", List.of(99L), FROM, TO, 30))
+                .hasMessage("Common slots can only be searched with users who share their free/busy time");
+    }
+    
+    @Test
+    void searchingOnlyYourselfNeedsNoSharing() {
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user(1L, "alice")));
+        when(freeBusyService.getBusyIntervals("alice", FROM, TO)).thenReturn(List.of());
+        
+        assertThat(commonSlotService.findCommonSlots("alice", List.of(1L), FROM, TO, 30).getSlots()).hasSize(1);
+        verify(userRepository, never()).findFreeBusySharedIds(anyCollection());
+    }
+    
+    @Test
+    void rejectsEmptyUserIds() {
+        assertThatThrownBy(() -> commonSlotService.findCommonSlots("alice", Arrays.asList(2L, null), FROM, TO, 30))
+                .hasMessage("User ids must not be empty");
+    }
+    
+    @Test
+    void sharingIsStoredOnTheUser() {
+        User alice = user(1L, "alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        
+        assertThat(commonSlotService.setSharing("alice", true)).isTrue();
+        assertThat(alice.isFreeBusyShared()).isTrue();
+        verify(userRepository).save(alice);
+    }
+}
@@ -0,0 +1,91 @@
+package com.StudyTrack.mobilebackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommonSlotServiceTest {
+    
+    private static final LocalDateTime FROM = at(8);
+    private static final LocalDateTime TO = at(18);
+    
+    private static LocalDateTime at(int hour) {
+        return LocalDateTime.of(2026, 1, 5, hour, 0);
+    }
+    
+    private static LocalDateTime[] interval(int startHour, int endHour) {
+        return new LocalDateTime[]{at(startHour), at(endHour)};
+    }
+    
+    @Test
+    void mergesTheUnionOfSeveralUsers() {
+        List<LocalDateTime[]> merged = CommonSlotService.mergeBusy(List.of(
+                List.of(interval(9, 10), interval(14, 15)),
+                List.<LocalDateTime[]>of(interval(10, 11)),
+                List.of(),
+                List.of(interval(12, 13), interval(14, 16))), FROM, TO);
+        
+        assertThat(merged).containsExactly(interval(9, 11), interval(12, 13), interval(14, 16));
+    }
+    
+    @Test
+    void mergeOfNoBusyTimeIsEmpty() {
+        assertThat(CommonSlotService.mergeBusy(List.of(List.of(), List.of()), FROM, TO)).isEmpty();
+        assertThat(CommonSlotService.mergeBusy(List.of(), FROM, TO)).isEmpty();
+    }
+    
+    @Test
+    void mergeMatchesSortingEverything() {
+        Random random = new Random(42);
+        List<List<LocalDateTime[]>> busy = new ArrayList<>();
+        List<LocalDateTime[]> all = new ArrayList<>();
+        for (int user = 0; user < 6; user++) {
+            List<LocalDateTime[]> intervals = new ArrayList<>();
+            LocalDateTime cursor = FROM.minusHours(1);
+            while (true) {
+                LocalDateTime start = cursor.plusMinutes(random.nextInt(90));
+                LocalDateTime end = start.plusMinutes(15 + random.nextInt(60));
+                if (end.isAfter(TO.plusHours(1))) {
+                    break;
+                }
+                intervals.add(new LocalDateTime[]{start, end});
+                cursor = end;
+            }
+            busy.add(intervals);
+            all.addAll(intervals);
+        }
+        all.sort((a, b) -> a[0].compareTo(b[0]));
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(FROM, TO);
+        all.forEach(interval -> sweep.add(interval[0], interval[1]));
+        
+        assertThat(CommonSlotService.mergeBusy(busy, FROM, TO)).containsExactlyElementsOf(sweep.finish());
+    }
+    
+    @Test
+    void freeSlotsAreTheGapsLongEnough() {
+        List<LocalDateTime[]> slots = CommonSlotService.freeSlots(
+                List.of(interval(9, 11), interval(12, 13), interval(16, 18)), FROM, TO, Duration.ofHours(1));
+        
+        assertThat(slots).containsExactly(interval(8, 9), interval(11, 12), interval(13, 16));
+    }
+    
+    @Test
+    void shortGapsAreDropped() {
+        List<LocalDateTime[]> slots = CommonSlotService.freeSlots(
+                List.of(interval(9, 11), interval(12, 13)), FROM, TO, Duration.ofHours(2));
+        
+        assertThat(slots).containsExactly(interval(13, 18));
+    }
+    
+    @Test
+    void noBusyTimeLeavesTheWholeWindow() {
+        assertThat(CommonSlotService.freeSlots(List.of(), FROM, TO, Duration.ofMinutes(30)))
+                .containsExactly(interval(8, 18));
+    }
+}
@@ -0,0 +1,108 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.entity.EventStatus;
+import com.StudyTrack.mobilebackend.repository.CalendarEventRepository;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Chunked sweeps: every chunk selects and updates with a timestamp of its own
+@ExtendWith(MockitoExtension.class)
+class EventStatusSweeperTest {
+    
+    private static final LocalDateTime END = LocalDateTime.of(2026, 1, 5, 10, 0);
+    
+    @Mock
+    private CalendarEventRepository eventRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private EventStatsService statsService;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @InjectMocks
+    private EventStatusSweeper sweeper;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+    
+    private static Object[] row(long id, long userId) {
+        return new Object[]{id, userId, END};
+    }
+    
+    @Test
+    void everyChunkUpdatesWithTheTimeItSelectedAt() {
+        List<LocalDateTime> selectedAt = new ArrayList<>();
+        List<LocalDateTime> updatedAt = new ArrayList<>();
+        List<List<Object[]>> chunks = List.of(List.of(row(1, 7), row(2, 8)), List.<Object[]>of(row(3, 7)));
+        when(eventRepository.findEndedIdsByStatus(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            selectedAt.add(invocation.getArgument(1));
+            return chunks.get(selectedAt.size() - 1);
+        });
+        when(eventRepository.completeEnded(anyList(), anyCollection(), eq(EventStatus.COMPLETED), any()))
+                .thenAnswer(invocation -> {
+                    updatedAt.add(invocation.getArgument(3));
+                    if (updatedAt.size() == 1) {
+                        // A slow first chunk; the second must not reuse its timestamp
+                        Thread.sleep(1100);
+                    }
+                    return invocation.<List<Long>>getArgument(0).size();
+                });
+        when(eventRepository.findStartedIdsByStatus(any(), any(), any())).thenReturn(List.of());
+        
+        sweeper.sweep();
+        
+        assertThat(updatedAt).containsExactlyElementsOf(selectedAt);
+        assertThat(selectedAt.get(1)).isAfter(selectedAt.get(0));
+        verify(userRepository, times(2)).incrementCalendarVersions(anyCollection());
+        verify(statsService, times(2)).applyClosed(any());
+        assertThat(meterRegistry.counter("events.status.swept", "status", "COMPLETED").count()).isEqualTo(3);
+    }
+    
+    @Test
+    void stopsWhenAChunkUpdatesNothing() {
+        when(eventRepository.findEndedIdsByStatus(anyCollection(), any(), any()))
+                .thenReturn(List.of(row(1, 7), row(2, 7)));
+        when(eventRepository.completeEnded(anyList(), anyCollection(), any(), any())).thenReturn(0);
+        when(eventRepository.findStartedIdsByStatus(any(), any(), any())).thenReturn(List.of());
+        
+        sweeper.sweep();
+        
+        verify(eventRepository, times(1)).findEndedIdsByStatus(anyCollection(), any(), any());
+        verify(userRepository, times(0)).incrementCalendarVersions(anyCollection());
+    }
+}
@@ -0,0 +1,64 @@
+package com.StudyTrack.mobilebackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static com.StudyTrack.mobilebackend.service.EventSyncService.KIND_DELETE;
+import static com.StudyTrack.mobilebackend.service.EventSyncService.KIND_UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventSyncServiceCursorTest {
+    
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    @Test
+    void roundTripKeepsNanosecondsAndPosition() {
+        LocalDateTime time = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_932);
+        LocalDateTime validFrom = LocalDateTime.of(2026, 3, 1, 0, 0);
+        EventSyncService.Cursor cursor = new EventSyncService.Cursor(time, KIND_UPDATE, 42, validFrom);
+        
+        assertThat(EventSyncService.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+    
+    @Test
+    void extremeIdsSurvive() {
+        LocalDateTime time = LocalDateTime.of(1970, 1, 1, 0, 0);
+        EventSyncService.Cursor cursor = new EventSyncService.Cursor(time, KIND_DELETE, Long.MAX_VALUE, time);
+        
+        assertThat(EventSyncService.Cursor.decode(cursor.encode()).id()).isEqualTo(Long.MAX_VALUE);
+    }
+    
+    @Test
+    void validFromIsKeptToTheSecond() {
+        LocalDateTime time = LocalDateTime.of(2026, 3, 14, 15, 9, 26);
+        EventSyncService.Cursor cursor = new EventSyncService.Cursor(time, KIND_UPDATE, 1, time.withNano(999));
+        
+        assertThat(EventSyncService.Cursor.decode(cursor.encode()).validFrom()).isEqualTo(time);
+    }
+    
+    @Test
+    void encodingIsUrlSafe() {
+        LocalDateTime time = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 999_999_999);
+        String encoded = new EventSyncService.Cursor(time, KIND_DELETE, Long.MAX_VALUE, time).encode();
+        
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+    
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> EventSyncService.Cursor.decode("not base64!"))
+                .hasMessage("Invalid sync cursor");
+        assertThatThrownBy(() -> EventSyncService.Cursor.decode(encode("1.0.0.5")))
+                .hasMessage("Invalid sync cursor");
+        assertThatThrownBy(() -> EventSyncService.Cursor.decode(encode("1.0.7.5.1")))
+                .hasMessage("Invalid sync cursor");
+        assertThatThrownBy(() -> EventSyncService.Cursor.decode(encode("1.x.0.5.1")))
+                .hasMessage("Invalid sync cursor");
+    }
+}
@@ -0,0 +1,77 @@
+package com.StudyTrack.mobilebackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FreeBusyServiceSweepTest {
+    
+    private static final LocalDateTime FROM = at(8);
+    private static final LocalDateTime TO = at(18);
+    
+    private static LocalDateTime at(int hour) {
+        return LocalDateTime.of(2026, 1, 5, hour, 0);
+    }
+    
+    private static LocalDateTime[] interval(int startHour, int endHour) {
+        return new LocalDateTime[]{at(startHour), at(endHour)};
+    }
+    
+    @Test
+    void disjointIntervalsAreKept() {
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(FROM, TO);
+        sweep.add(at(9), at(10));
+        sweep.add(at(11), at(12));
+        
+        assertThat(sweep.finish()).containsExactly(interval(9, 10), interval(11, 12));
+    }
+    
+    @Test
+    void overlappingAndTouchingIntervalsAreMerged() {
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(FROM, TO);
+        sweep.add(at(9), at(11));
+        sweep.add(at(10), at(12));
+        sweep.add(at(12), at(13));
+        
+        assertThat(sweep.finish()).containsExactly(interval(9, 13));
+    }
+    
+    @Test
+    void containedIntervalDoesNotShortenTheOpenOne() {
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(FROM, TO);
+        sweep.add(at(9), at(15));
+        sweep.add(at(10), at(11));
+        sweep.add(at(16), at(17));
+        
+        assertThat(sweep.finish()).containsExactly(interval(9, 15), interval(16, 17));
+    }
+    
+    @Test
+    void intervalsAreClippedToTheWindow() {
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(FROM, TO);
+        sweep.add(at(6), at(9));
+        sweep.add(at(17), at(20));
+        
+        assertThat(sweep.finish()).containsExactly(interval(8, 9), interval(17, 18));
+    }
+    
+    @Test
+    void intervalsOutsideTheWindowOrEmptyAreDropped() {
+        FreeBusyService.Sweep sweep = new FreeBusyService.Sweep(FROM, TO);
+        sweep.add(at(6), at(8));
+        sweep.add(at(12), at(12));
+        sweep.add(at(18), at(19));
+        
+        assertThat(sweep.finish()).isEmpty();
+    }
+    
+    @Test
+    void finishWithoutIntervalsIsEmpty() {
+        List<LocalDateTime[]> merged = new FreeBusyService.Sweep(FROM, TO).finish();
+        
+        assertThat(merged).isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.StudyTrack.mobilebackend.service;
+
+import com.StudyTrack.mobilebackend.dto.UserDto;
+import com.StudyTrack.mobilebackend.entity.User;
+import com.StudyTrack.mobilebackend.entity.UserRole;
+import com.StudyTrack.mobilebackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceRegistrationTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    
+    @InjectMocks
+    private UserService userService;
+    
+    private static UserDto registration(UserRole role) {
+        UserDto dto = new UserDto();
+        dto.setUsername("alice");
+        dto.setEmail("alice@example.com");
+        dto.setPassword("secret12");
+        dto.setRole(role);
+        return dto;
+    }
+    
+    @Test
+    void rejectsSelfRegisteredAdministrators() {
+        assertThatThrownBy(() -> userService.registerUser(registration(UserRole.ADMIN)))
+                .hasMessage("Administrator accounts cannot be registered");
+        verify(userRepository, never()).save(any());
+    }
+    
+    @Test
+    void defaultsToStudent() {
+        when(passwordEncoder.encode("secret12")).thenReturn("hash");
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        User user = userService.registerUser(registration(null));
+        
+        assertThat(user.getRole()).isEqualTo(UserRole.STUDENT);
+        assertThat(user.getPassword()).isEqualTo("hash");
+    }
+}